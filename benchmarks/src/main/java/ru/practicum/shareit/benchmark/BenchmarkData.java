@@ -0,0 +1,114 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.comments.dto.CommentItemView;
+import ru.practicum.shareit.comments.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+//Генерация сущностей в памяти для бенчмарков мапперов и сборки DTO
+final class BenchmarkData {
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            users.add(new User(i, "User " + i, "user" + i + "@email.com"));
+        }
+        return users;
+    }
+
+    static List<Item> items(User owner, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            items.add(Item.builder()
+                    .id(i)
+                    .name("Item " + i)
+                    .description("Description of item " + i + " with a few more words")
+                    .available(i % 5 != 0)
+                    .owner(owner)
+                    .commentCount(10)
+                    .build());
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(List<Item> items, List<User> bookers, int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = NOW.minusDays(count - i);
+            bookings.add(Booking.builder()
+                    .id((long) i + 1)
+                    .start(start)
+                    .end(start.plusHours(6))
+                    .item(items.get(i % items.size()))
+                    .booker(bookers.get(i % bookers.size()))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(List<Item> items, List<User> authors, int count) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(Comment.builder()
+                    .id((long) i + 1)
+                    .text("Comment " + i + " about the item, it was fine")
+                    .item(items.get(i % items.size()))
+                    .authorName(authors.get(i % authors.size()))
+                    .created(NOW.minusMinutes(i))
+                    .build());
+        }
+        return comments;
+    }
+
+    static List<CommentItemView> commentViews(List<Comment> comments) {
+        List<CommentItemView> views = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            views.add(new CommentView(comment));
+        }
+        return views;
+    }
+
+    private static final class CommentView implements CommentItemView {
+        private final Comment comment;
+
+        private CommentView(Comment comment) {
+            this.comment = comment;
+        }
+
+        @Override
+        public Long getId() {
+            return comment.getId();
+        }
+
+        @Override
+        public Long getItemId() {
+            return comment.getItem().getId();
+        }
+
+        @Override
+        public String getText() {
+            return comment.getText();
+        }
+
+        @Override
+        public String getAuthorName() {
+            return comment.getAuthorName().getName();
+        }
+
+        @Override
+        public LocalDateTime getCreated() {
+            return comment.getCreated();
+        }
+    }
+}
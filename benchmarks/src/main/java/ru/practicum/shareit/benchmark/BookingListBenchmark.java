@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Сериализация списка бронирований владельца на server и разбор ответа в gateway: полный и нормализованный формат
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingListBenchmark {
+    @Param({"20", "500"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private List<BookingUserDto> bookings;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkData.users(11);
+        List<Item> items = BenchmarkData.items(users.get(0), 3);
+        bookings = BookingMapper.fromListBooking(
+                BenchmarkData.bookings(items, users.subList(1, users.size()), size));
+    }
+
+    @Benchmark
+    public Object full() throws IOException {
+        return objectMapper.readValue(write(bookings), Object.class);
+    }
+
+    @Benchmark
+    public Object normalized() throws IOException {
+        return objectMapper.readValue(write(BookingMapper.toBookingPageDto(bookings)), Object.class);
+    }
+
+    private byte[] write(Object value) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingHistoryRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comments.model.Comment;
+import ru.practicum.shareit.comments.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.view.OwnerItemViewRepository;
+import ru.practicum.shareit.item.view.OwnerItemViewService;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxPublisher;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+//Сборка ответа ItemServiceImpl.getAllUserItems без БД: репозитории отдают заранее подготовленные данные
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemAssemblyBenchmark {
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    private ItemServiceImpl itemService;
+    private Long ownerId;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkData.users(100);
+        User owner = users.get(0);
+        ownerId = owner.getId();
+        List<Item> ownerItems = BenchmarkData.items(owner, items);
+        List<Comment> comments = BenchmarkData.comments(ownerItems, users, items * ItemServiceImpl.LAST_COMMENTS_SIZE);
+        List<Booking> bookings = BenchmarkData.bookings(ownerItems, users.subList(1, users.size()), items);
+        List<Booking> nextBookings = BenchmarkData.bookings(ownerItems, users.subList(1, users.size()), items);
+
+        itemService = new ItemServiceImpl(
+                stub(ItemRepository.class, Map.of("findAllByOwnerId", ownerItems)),
+                stub(UserRepository.class, Map.of("findById", Optional.of(owner))),
+                stub(CommentRepository.class, Map.of("findLastByItemIdIn", BenchmarkData.commentViews(comments))),
+                stub(BookingRepository.class, Map.of("getLastBookings", bookings, "getNextBookings", nextBookings)),
+                stub(BookingHistoryRepository.class, Map.of()),
+                stub(ItemRequestRepository.class, Map.of()),
+                new OutboxPublisher(stub(OutboxEventRepository.class, Map.of()), new ObjectMapper()),
+                //Представление не заполнено, поэтому замеряется сборка списка из данных репозиториев
+                new OwnerItemViewService(stub(OwnerItemViewRepository.class, Map.of()),
+                        stub(OutboxEventRepository.class, Map.of()), stub(ItemRepository.class, Map.of()),
+                        stub(BookingRepository.class, Map.of()), stub(CommentRepository.class, Map.of()),
+                        new ObjectMapper()));
+    }
+
+    @Benchmark
+    public List<ItemDto> getAllUserItems() {
+        return itemService.getAllUserItems(ownerId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Object> results) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (!results.containsKey(method.getName()))
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            return results.get(method.getName());
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+//Стоимость логирования одного запроса, завершившегося 404: прежний вариант (INFO в gateway на каждый запрос,
+//неохраняемые varargs, стек исключения в ErrorHandler) против текущего. Вывод идет в пустой поток,
+//поэтому замеряется только работа потока запроса; ASYNC при переполнении очереди отбрасывает события.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%X{traceId:-}] %-40.40logger{39} : %m%n%ex";
+    //Глубина стека типичного запроса Spring MVC до сервиса
+    private static final int STACK_DEPTH = 120;
+
+    @Param({"INFO", "DEBUG"})
+    private String level;
+
+    @Param({"SYNC", "ASYNC"})
+    private String appender;
+
+    private LoggerContext context;
+    private Logger controllerLog;
+    private Logger serviceLog;
+    private Logger errorLog;
+    private ObjectNotFoundException exception;
+    private final Long userId = 42L;
+    private final Long itemId = 4242L;
+    private final Integer from = 0;
+    private final Integer size = 10;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        Appender<ILoggingEvent> root = console;
+        if (appender.equals("ASYNC")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.addAppender(console);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.start();
+            root = async;
+        }
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.addAppender(root);
+        rootLogger.setLevel(Level.toLevel(level));
+
+        controllerLog = context.getLogger("ru.practicum.shareit.item.ItemController");
+        serviceLog = context.getLogger("ru.practicum.shareit.item.service.ItemServiceImpl");
+        errorLog = context.getLogger("ru.practicum.shareit.exception.ErrorHandler");
+        exception = deepException(STACK_DEPTH);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void before() {
+        controllerLog.info("Получение комментариев к предмету с Id = {}", itemId);
+        serviceLog.debug("Вызов метода get с itemId = {}, userId = {}", itemId, userId);
+        serviceLog.debug("Вызов метода getComments с itemId = {}, from = {}, size = {}", itemId, from, size);
+        errorLog.debug("Получен статус 404 Not found {}", exception.getMessage(), exception);
+    }
+
+    @Benchmark
+    public void after() {
+        controllerLog.debug("Получение комментариев к предмету с Id = {}", itemId);
+        serviceLog.debug("Вызов метода get с itemId = {}, userId = {}", itemId, userId);
+        if (serviceLog.isDebugEnabled())
+            serviceLog.debug("Вызов метода getComments с itemId = {}, from = {}, size = {}", itemId, from, size);
+        errorLog.debug("Получен статус 404 Not found {}", exception.getMessage());
+    }
+
+    private static ObjectNotFoundException deepException(int depth) {
+        if (depth == 0)
+            return new ObjectNotFoundException("Предмет с id = 4242 не найден");
+        return deepException(depth - 1);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.comments.dto.CommentDto;
+import ru.practicum.shareit.comments.dto.CommentMapper;
+import ru.practicum.shareit.comments.model.Comment;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private List<Booking> bookings;
+    private List<Comment> comments;
+    private Item item;
+    private BookingItemDto lastBooking;
+    private BookingItemDto nextBooking;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkData.users(50);
+        List<Item> items = BenchmarkData.items(users.get(0), 20);
+        bookings = BenchmarkData.bookings(items, users.subList(1, users.size()), size);
+        comments = BenchmarkData.comments(items, users, size);
+        item = items.get(0);
+        lastBooking = BookingMapper.toBookingItemDto(bookings.get(0));
+        nextBooking = BookingMapper.toBookingItemDto(bookings.get(bookings.size() - 1));
+    }
+
+    @Benchmark
+    public List<BookingUserDto> bookingFromListBooking() {
+        return BookingMapper.fromListBooking(bookings);
+    }
+
+    @Benchmark
+    public List<CommentDto> commentFromListComment() {
+        return CommentMapper.fromListComment(comments);
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDtoAllRegularComments() {
+        return ItemMapper.toItemDtoAllRegularComments(item, lastBooking, nextBooking, comments);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+
+import java.util.concurrent.TimeUnit;
+
+//Обработка 404 при переборе id: выброс исключения из глубины стека, типичной для запроса Spring MVC,
+//и сериализация тела ответа. before повторяет прежнее поведение: полный стек и ObjectMapper
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NotFoundBenchmark {
+    private static final int STACK_DEPTH = 120;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private long id;
+
+    @Benchmark
+    public byte[] before() throws Exception {
+        try {
+            throwAt(STACK_DEPTH, ++id, true);
+            return null;
+        } catch (RuntimeException e) {
+            return objectMapper.writeValueAsBytes(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public byte[] after() {
+        try {
+            throwAt(STACK_DEPTH, ++id, false);
+            return null;
+        } catch (ObjectNotFoundException e) {
+            return ErrorResponse.toJson(e.getMessage());
+        }
+    }
+
+    private static void throwAt(int depth, long id, boolean legacy) {
+        if (depth > 0) {
+            throwAt(depth - 1, id, legacy);
+            return;
+        }
+        String message = "Пользователь с id = " + id + " не найден";
+        throw legacy ? new LegacyNotFoundException(message) : new ObjectNotFoundException(message);
+    }
+
+    //Исключение в прежнем виде: стек вызовов заполняется при создании
+    private static class LegacyNotFoundException extends RuntimeException {
+        LegacyNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.view.OwnerItemViewService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Сервисный слой целиком: Spring-контекст без веба поверх H2, заполненной данными объёма рабочей БД
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+    private static final int USERS = 1_000;
+    private static final int ITEMS = 10_000;
+    private static final int BOOKINGS = 50_000;
+    private static final int COMMENTS = 20_000;
+    //Первые пользователи владеют непропорционально большим числом вещей
+    private static final int HOT_OWNERS = 10;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final long HOT_OWNER_ID = 1L;
+    private static final long BOOKER_ID = USERS;
+
+    //true - GET /items владельца читается из owner_item_views, false - собирается запросами к таблицам
+    @Param({"true", "false"})
+    private String ownerView;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(ShareItServer.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.sql.init.platform=h2",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN",
+                "--logging.level.ru.practicum.shareit=WARN",
+                "--shareit.item.owner-view.enabled=" + ownerView);
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        seed(context.getBean(JdbcTemplate.class));
+        //Данные записаны в обход сервисов, событий по ним нет
+        context.getBean(OwnerItemViewService.class).backfill();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> getAllUserItems() {
+        return itemService.getAllUserItems(HOT_OWNER_ID);
+    }
+
+    @Benchmark
+    public List<BookingUserDto> getAllOwnerBookings() {
+        return bookingService.getAllOwnerBookings(HOT_OWNER_ID, "ALL", 0, 20);
+    }
+
+    @Benchmark
+    public List<BookingUserDto> getAllBookerBookingsPast() {
+        return bookingService.getAllBookerBookings(BOOKER_ID, "PAST", 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemDto> search() {
+        return itemService.search("drill");
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "User " + id, "user" + id + "@email.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", users);
+
+        List<Object[]> items = new ArrayList<>(ITEMS);
+        for (long id = 1; id <= ITEMS; id++) {
+            long ownerId = id % 2 == 0 ? id % HOT_OWNERS + 1 : id % USERS + 1;
+            String name = (id % 10 == 0 ? "Drill " : "Item ") + id;
+            items.add(new Object[]{id, name, "Description of " + name, id % 7 != 0, ownerId});
+        }
+        batch(jdbcTemplate, "INSERT INTO items (id, name, description, is_available, owner_id) VALUES (?, ?, ?, ?, ?)",
+                items);
+
+        List<Object[]> bookings = new ArrayList<>(BOOKINGS);
+        for (long id = 1; id <= BOOKINGS; id++) {
+            LocalDateTime start = now.minusDays(365).plusHours(id % (24 * 500));
+            bookings.add(new Object[]{id, Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(2)),
+                    id % ITEMS + 1, USERS - id % (USERS / 2), id % 10 == 0 ? "REJECTED" : "APPROVED"});
+        }
+        batch(jdbcTemplate, "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", bookings);
+
+        List<Object[]> comments = new ArrayList<>(COMMENTS);
+        for (long id = 1; id <= COMMENTS; id++) {
+            comments.add(new Object[]{id, "Comment " + id, id % ITEMS + 1, id % USERS + 1,
+                    Timestamp.valueOf(now.minusMinutes(id))});
+        }
+        batch(jdbcTemplate, "INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+                comments);
+        jdbcTemplate.update("UPDATE items i SET comment_count = " +
+                "(SELECT COUNT(*) FROM comments c WHERE c.item_id = i.id)");
+    }
+
+    private static void batch(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
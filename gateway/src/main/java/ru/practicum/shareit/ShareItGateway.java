@@ -2,11 +2,17 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class ShareItGateway {
+	//Шаги старта для /actuator/startup и отчёта shareit.startup.report
+	private static final int STARTUP_STEPS = 10000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(ShareItGateway.class, args);
+		SpringApplication application = new SpringApplication(ShareItGateway.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		application.run(args);
 	}
 
 }
@@ -7,9 +7,11 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.exception.ValidationException;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -22,7 +24,7 @@ public class BookingController {
 	@PostMapping
 	public ResponseEntity<Object> newBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
 											 @RequestBody @Valid BookItemRequestDto bookingDtoIn) {
-		log.info("Создание бронирования с userId = {}", userId);
+		log.debug("Создание бронирования с userId = {}", userId);
 		if (bookingDtoIn.getStart().isAfter(bookingDtoIn.getEnd()) ||
 				bookingDtoIn.getStart().isEqual(bookingDtoIn.getEnd())) {
 			throw new ValidationException("время бронирования указано некорректно");
@@ -34,7 +36,7 @@ public class BookingController {
 	public ResponseEntity<Object> changeStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
 											   @PathVariable Long bookingId,
 											   @RequestParam(value = "approved") String approved) {
-		log.info("смена статуса бронирования Id = {}", bookingId);
+		log.debug("смена статуса бронирования Id = {}", bookingId);
 		return bookingClient.changeStatus(userId, bookingId, approved);
 	}
 
@@ -42,17 +44,22 @@ public class BookingController {
 	public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "format", defaultValue = "full") String formatParam) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get booking with state {}, userId = {}, from = {}, size = {}", stateParam, userId, from, size);
-		return bookingClient.getBookings(userId, state, from, size);
+		BookingListFormat format = BookingListFormat.from(formatParam)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown format: " + formatParam));
+		if (log.isDebugEnabled())
+			log.debug("Get booking with state {}, userId = {}, from = {}, size = {}", stateParam, userId, from, size);
+		return bookingClient.getBookings(userId, state, from, size, format);
 	}
 
 	@GetMapping("/{bookingId}")
 	public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
 											 @PathVariable Long bookingId) {
-		log.info("Get booking {}, userId = {}", bookingId, userId);
+		if (log.isDebugEnabled())
+			log.debug("Get booking {}, userId = {}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
 
@@ -63,10 +70,21 @@ public class BookingController {
 												  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
 												  Integer from,
 												  @Positive @RequestParam(name = "size", defaultValue = "10")
-												  Integer size) {
-		log.info("Получение бронирования владельца с id = {}", userId);
+												  Integer size,
+												  @RequestParam(name = "format", defaultValue = "full")
+												  String formatParam) {
+		log.debug("Получение бронирования владельца с id = {}", userId);
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		return bookingClient.getBookingOwner(userId, state, from, size);
+		BookingListFormat format = BookingListFormat.from(formatParam)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown format: " + formatParam));
+		return bookingClient.getBookingOwner(userId, state, from, size, format);
+	}
+
+	@GetMapping("/owner/export")
+	public void exportBookingOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+								   HttpServletResponse response) throws IOException {
+		log.debug("Выгрузка бронирований владельца с id = {}", userId);
+		bookingClient.exportBookingOwner(userId, response);
 	}
 }
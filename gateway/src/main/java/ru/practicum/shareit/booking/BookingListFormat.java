@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Optional;
+
+public enum BookingListFormat {
+	FULL,
+	NORMALIZED;
+
+	public static Optional<BookingListFormat> from(String stringFormat) {
+		for (BookingListFormat format : values()) {
+			if (format.name().equalsIgnoreCase(stringFormat)) {
+				return Optional.of(format);
+			}
+		}
+		return Optional.empty();
+	}
+}
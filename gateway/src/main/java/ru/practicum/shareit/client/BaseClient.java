@@ -1,22 +1,31 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.tracing.Span;
+import ru.practicum.shareit.tracing.Tracer;
 
 public class BaseClient {
     protected final RestTemplate rest;
 
-    public BaseClient(RestTemplate rest) {
+    private final Tracer tracer;
+
+    public BaseClient(RestTemplate rest, Tracer tracer) {
         this.rest = rest;
+        this.tracer = tracer;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -79,11 +88,39 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    //Ответ server копируется в ответ gateway по мере чтения, без разбора и буферизации тела целиком
+    protected void stream(String path, long userId, HttpServletResponse response) throws IOException {
+        Span span = tracer.start("HTTP " + HttpMethod.GET);
+        try {
+            rest.execute(path, HttpMethod.GET,
+                    request -> request.getHeaders().putAll(defaultHeaders(userId, span)),
+                    serverResponse -> {
+                        span.tag("http.status", serverResponse.getRawStatusCode());
+                        response.setStatus(serverResponse.getRawStatusCode());
+                        MediaType contentType = serverResponse.getHeaders().getContentType();
+                        if (contentType != null) {
+                            response.setContentType(contentType.toString());
+                        }
+                        StreamUtils.copy(serverResponse.getBody(), response.getOutputStream());
+                        return null;
+                    });
+        } catch (HttpStatusCodeException e) {
+            span.tag("http.status", e.getRawStatusCode());
+            response.setStatus(e.getRawStatusCode());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(e.getResponseBodyAsByteArray());
+        } finally {
+            span.tag("http.path", path);
+            tracer.finish(span);
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method,
                                                           String path, Long userId,
                                                           @Nullable Map<String, Object> parameters,
                                                           @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        Span span = tracer.start("HTTP " + method);
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId, span));
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -92,16 +129,22 @@ public class BaseClient {
             } else {
                 shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
             }
+            span.tag("http.status", shareitServerResponse.getStatusCodeValue());
         } catch (HttpStatusCodeException e) {
+            span.tag("http.status", e.getRawStatusCode());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        } finally {
+            span.tag("http.path", path);
+            tracer.finish(span);
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private HttpHeaders defaultHeaders(Long userId, Span span) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set(Tracer.TRACEPARENT, Tracer.traceparent(span));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
@@ -110,7 +153,15 @@ public class BaseClient {
 
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            //Заголовки соединения с server не переносятся: тело ответа gateway сериализует заново
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.remove(HttpHeaders.CONNECTION);
+            //traceparent ответа выставляет фильтр трассировки gateway
+            headers.remove(Tracer.TRACEPARENT);
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exception;
+
+//Ожидаемая ошибка бизнес-логики: стек вызовов не заполняется, так как не логируется и не нужен клиенту
+public abstract class BusinessException extends RuntimeException {
+    protected BusinessException(String message) {
+        super(message, null, false, false);
+    }
+}
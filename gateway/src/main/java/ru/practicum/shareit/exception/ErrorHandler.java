@@ -14,24 +14,25 @@ import javax.validation.ConstraintViolationException;
 @Slf4j
 public class ErrorHandler {
 
+    //Ожидаемые ошибки логируются без стека вызовов, стек пишется только для непредвиденных
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidationException(ValidationException e) {
-        log.debug("Получен статус 400 Bad request {}", e.getMessage(), e);
+        log.debug("Получен статус 400 Bad request {}", e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleConstraintViolationException(ConstraintViolationException e) {
-        log.debug("Получен статус 400 Bad request {}", e.getMessage(), e);
+        log.debug("Получен статус 400 Bad request {}", e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
-        log.debug("Получен статус 400 Bad request {}", e.getMessage(), e);
+        log.debug("Получен статус 400 Bad request {}", e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class IncorrectParameterException extends RuntimeException {
+public class IncorrectParameterException extends BusinessException {
     public IncorrectParameterException(String message) {
         super(message);
     }
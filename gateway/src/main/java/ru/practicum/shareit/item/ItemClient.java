@@ -8,7 +8,11 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.tracing.Tracer;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -16,12 +20,14 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      Tracer tracer) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .build(),
+                tracer
         );
     }
 
@@ -29,6 +35,10 @@ public class ItemClient extends BaseClient {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<Object> newItems(Long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos);
+    }
+
     public ResponseEntity<Object> getItem(Long userId, Long itemId) {
         return get("/" + itemId, userId);
     }
@@ -38,19 +48,51 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItem(Long userId, String text, Long from, Long size) {
+    public ResponseEntity<Object> searchItem(Long userId, String text, LocalDateTime start, LocalDateTime end,
+                                             Long from, Long size) {
+        if (start == null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "from", from,
+                    "size", size
+            );
+            return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "text", text,
+                "start", start,
+                "end", end,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getOccupancy(Long userId, Long itemId, LocalDateTime from, LocalDateTime to,
+                                               OccupancyUnit unit) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder path = new StringBuilder("/" + itemId + "/occupancy?unit={unit}");
+        parameters.put("unit", unit.name());
+        if (from != null) {
+            path.append("&from={from}");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            path.append("&to={to}");
+            parameters.put("to", to);
+        }
+        return get(path.toString(), userId, parameters);
     }
 
     public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
+    public ResponseEntity<Object> updateItemsAvailable(Long userId, Boolean available, List<Long> itemIds) {
+        Map<String, Object> parameters = Map.of("available", available);
+        return patch("/batch?available={available}", userId, parameters, itemIds);
+    }
+
     public ResponseEntity<Object> deleteItem(Long id) {
         return delete("/" + id);
     }
@@ -58,4 +100,9 @@ public class ItemClient extends BaseClient {
     public ResponseEntity<Object> postComment(Long userId, Long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    public ResponseEntity<Object> getComments(Long userId, Long itemId, Long from, Long size) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("/" + itemId + "/comment?from={from}&size={size}", userId, parameters);
+    }
 }
\ No newline at end of file
@@ -2,14 +2,20 @@ package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.ValidationException;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -31,6 +37,23 @@ public class ItemController {
         return itemClient.newItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> newItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @RequestBody @NotEmpty List<@Valid ItemDto> itemDtos) {
+        if (log.isTraceEnabled())
+            log.trace("Добавление {} предметов с userId = {}", itemDtos.size(), userId);
+        return itemClient.newItems(userId, itemDtos);
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> updateItemsAvailable(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @RequestParam(value = "available") @NotNull Boolean available,
+                                                       @RequestBody @NotEmpty List<@NotNull Long> itemIds) {
+        if (log.isTraceEnabled())
+            log.trace("Смена доступности {} предметов пользователя c Id = {}", itemIds.size(), userId);
+        return itemClient.updateItemsAvailable(userId, available, itemIds);
+    }
+
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> getItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                                           @PathVariable Long itemId) {
@@ -53,20 +76,44 @@ public class ItemController {
     @GetMapping("/search")
     public ResponseEntity<Object> searchItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                                              @RequestParam(value = "text", required = false) String text,
+                                             @RequestParam(value = "start", required = false)
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                             LocalDateTime start,
+                                             @RequestParam(value = "end", required = false)
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                             LocalDateTime end,
                                              @PositiveOrZero
                                              @RequestParam(value = "from", defaultValue = "0")
                                              Long from,
                                              @Positive
                                              @RequestParam(value = "size", defaultValue = "10")
                                              Long size) {
-        log.trace("Поиск предмета по имени = {}", text);
+        log.trace("Поиск предмета по имени = {}, свободного с {} по {}", text, start, end);
+        if ((start == null) != (end == null) || start != null && !end.isAfter(start))
+            throw new ValidationException("Некорректный период поиска");
         if (!text.isBlank()) {
-            return itemClient.searchItem(userId, text, from, size);
+            return itemClient.searchItem(userId, text, start, end, from, size);
         } else {
             return ResponseEntity.ok().body(new ArrayList<>());
         }
     }
 
+    @GetMapping("/{itemId}/occupancy")
+    public ResponseEntity<Object> getOccupancy(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @PathVariable Long itemId,
+                                               @RequestParam(value = "from", required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam(value = "to", required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to,
+                                               @RequestParam(value = "unit", defaultValue = "day") String unitParam) {
+        OccupancyUnit unit = OccupancyUnit.from(unitParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown unit: " + unitParam));
+        log.trace("Получение занятости предмета c Id = {} с {} по {}", itemId, from, to);
+        return itemClient.getOccupancy(userId, itemId, from, to, unit);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
                                              @RequestBody @Valid ItemDto itemDto) {
@@ -88,4 +135,17 @@ public class ItemController {
         return itemClient.postComment(userId, itemId, commentDto);
     }
 
+    @GetMapping("/{itemId}/comment")
+    public ResponseEntity<Object> getComments(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @PathVariable Long itemId,
+                                              @PositiveOrZero
+                                              @RequestParam(value = "from", defaultValue = "0")
+                                              Long from,
+                                              @Positive
+                                              @RequestParam(value = "size", defaultValue = "10")
+                                              Long size) {
+        log.trace("Получение комментариев к предмету с Id = {}", itemId);
+        return itemClient.getComments(userId, itemId, from, size);
+    }
+
 }
\ No newline at end of file
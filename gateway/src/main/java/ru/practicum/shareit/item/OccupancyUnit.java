@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item;
+
+import java.util.Optional;
+
+public enum OccupancyUnit {
+    HOUR,
+    DAY;
+
+    public static Optional<OccupancyUnit> from(String stringUnit) {
+        for (OccupancyUnit unit : values()) {
+            if (unit.name().equalsIgnoreCase(stringUnit)) {
+                return Optional.of(unit);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.tracing.Tracer;
 
 import javax.validation.ValidationException;
 import java.util.Map;
@@ -18,11 +19,13 @@ public class ItemRequestClient extends BaseClient {
 
     @Autowired
     public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
-                             RestTemplateBuilder restTemplateBuilder) {
+                             RestTemplateBuilder restTemplateBuilder,
+                             Tracer tracer) {
         super(restTemplateBuilder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                 .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
+                .build(),
+                tracer
         );
     }
 
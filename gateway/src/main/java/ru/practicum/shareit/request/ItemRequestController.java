@@ -21,13 +21,13 @@ public class ItemRequestController {
     @PostMapping
     public ResponseEntity<Object> addNew(@RequestBody @Valid ItemRequestDto itemRequestDto,
                                          @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Создание запроса с userId = {}", userId);
+        log.debug("Создание запроса с userId = {}", userId);
         return itemRequestClient.addNew(itemRequestDto, userId);
     }
 
     @GetMapping
     public ResponseEntity<Object> getAllOwn(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Получение всех запросов с userId = {}", userId);
+        log.debug("Получение всех запросов с userId = {}", userId);
         return itemRequestClient.getAllOwn(userId);
     }
 
@@ -35,14 +35,14 @@ public class ItemRequestController {
     public ResponseEntity<Object> getAllByPages(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                 @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
                                                 @RequestParam(defaultValue = "20") @Positive Integer size) {
-        log.info("Получение всех запросов по страницам с userId = {}", userId);
+        log.debug("Получение всех запросов по страницам с userId = {}", userId);
         return itemRequestClient.getAllByPages(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> getById(@PathVariable Long requestId,
                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Получение конкретного запроса с userId = {}, requestId = {}", userId, requestId);
+        log.debug("Получение конкретного запроса с userId = {}, requestId = {}", userId, requestId);
         return itemRequestClient.getById(requestId, userId);
     }
 }
\ No newline at end of file
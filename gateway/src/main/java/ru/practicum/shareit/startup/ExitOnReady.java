@@ -0,0 +1,16 @@
+package ru.practicum.shareit.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+@Slf4j
+public class ExitOnReady implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("Приложение запущено, завершение по shareit.startup.exit-on-ready");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.startup;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit.startup", name = "report", havingValue = "true")
+    public StartupReport startupReport(ObjectProvider<BufferingApplicationStartup> applicationStartup) {
+        return new StartupReport(applicationStartup);
+    }
+
+    //Пробный запуск сборки с профилем appcds: приложение завершается сразу после старта, JVM сохраняет архив классов
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit.startup", name = "exit-on-ready", havingValue = "true")
+    public ExitOnReady exitOnReady() {
+        return new ExitOnReady();
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//Разбивка времени старта по фазам и самым долгим бинам. Время бина включает создание его зависимостей.
+//Полная хронология - /actuator/startup
+//Раньше остальных обработчиков готовности, в том числе ExitOnReady
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class StartupReport implements ApplicationListener<ApplicationReadyEvent> {
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+    private static final int TOP_BEANS = 15;
+
+    private final ObjectProvider<BufferingApplicationStartup> applicationStartup;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        BufferingApplicationStartup startup = applicationStartup.getIfAvailable();
+        if (startup == null) {
+            log.info("Хронология старта не записывалась: приложение запущено не через main");
+            return;
+        }
+        List<StartupTimeline.TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        for (StartupTimeline.TimelineEvent timelineEvent : events) {
+            if (!timelineEvent.getStartupStep().getName().equals(BEAN_STEP))
+                phases.merge(timelineEvent.getStartupStep().getName(), timelineEvent.getDuration(), Duration::plus);
+        }
+        StringBuilder report = new StringBuilder("Старт за ").append(event.getTimeTaken().toMillis())
+                .append(" мс\nФазы:");
+        phases.forEach((name, duration) -> report.append(String.format("%n%8d мс  %s", duration.toMillis(), name)));
+
+        report.append("\nБины:");
+        events.stream()
+                .filter(timelineEvent -> timelineEvent.getStartupStep().getName().equals(BEAN_STEP))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(TOP_BEANS)
+                .forEach(timelineEvent -> report.append(String.format("%n%8d мс  %s",
+                        timelineEvent.getDuration().toMillis(), beanName(timelineEvent.getStartupStep()))));
+        log.info(report.toString());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals("beanName"))
+                return tag.getValue();
+        }
+        return step.getName();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+@Endpoint(id = "slowtraces")
+@RequiredArgsConstructor
+public class TraceEndpoint {
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final InMemorySpanExporter exporter;
+
+    @ReadOperation
+    public List<TraceRecord> slowTraces(@Nullable Integer limit) {
+        return exporter.getSlowest(limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
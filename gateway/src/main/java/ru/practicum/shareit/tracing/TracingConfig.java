@@ -0,0 +1,33 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration(proxyBeanMethods = false)
+public class TracingConfig {
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter(@Value("${shareit.tracing.buffer-size:500}") int bufferSize) {
+        return new InMemorySpanExporter(bufferSize);
+    }
+
+    @Bean
+    public Tracer tracer(InMemorySpanExporter inMemorySpanExporter) {
+        return new Tracer(inMemorySpanExporter);
+    }
+
+    @Bean
+    public TraceEndpoint traceEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+        return new TraceEndpoint(inMemorySpanExporter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
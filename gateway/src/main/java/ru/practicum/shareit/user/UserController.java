@@ -23,26 +23,26 @@ public class UserController {
 
     @GetMapping("/{userId}")
     public ResponseEntity<Object> getUser(@PathVariable Long userId) {
-        log.info("Получение пользователя с Id = {}", userId);
+        log.debug("Получение пользователя с Id = {}", userId);
         return userClient.getUser(userId);
     }
 
     @GetMapping
     public ResponseEntity<Object> getAll() {
-        log.info("Получение всех пользователей");
+        log.debug("Получение всех пользователей");
         return userClient.getAll();
     }
 
     @PatchMapping("/{userId}")
     public ResponseEntity<Object> updateUser(@PathVariable Long userId,
                                              @RequestBody @Valid UserDto userDto) {
-        log.info("Обновление пользователя с Id = {}", userId);
+        log.debug("Обновление пользователя с Id = {}", userId);
         return userClient.updateUser(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
     public void deleteUser(@PathVariable Long userId) {
-        log.info("Удаление пользователя с Id = {}", userId);
+        log.debug("Удаление пользователя с Id = {}", userId);
         userClient.deleteUser(userId);
     }
 }
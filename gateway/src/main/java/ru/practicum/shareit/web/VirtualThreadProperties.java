@@ -0,0 +1,20 @@
+package ru.practicum.shareit.web;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.web.virtual-threads")
+public class VirtualThreadProperties {
+    private boolean enabled = false;
+
+    //Если не задано, равно суммарному числу соединений клиентов server
+    private Integer maxConcurrentRequests;
+
+    //Сколько запрос ждёт свободного места, прежде чем получить 503
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.web;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//Проект собирается под Java 11, поэтому исполнитель виртуальных потоков (Java 21+) создаётся через рефлексию
+@UtilityClass
+@Slf4j
+public class VirtualThreads {
+    public boolean isAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    public Optional<ExecutorService> newPerTaskExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch (NoSuchMethodException e) {
+            log.warn("Виртуальные потоки недоступны в Java {}, запросы выполняются в пуле Tomcat",
+                    Runtime.version().feature());
+            return Optional.empty();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Не удалось создать исполнитель виртуальных потоков", e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+//Запускает нативный gateway (профиль native) против заглушки server: проверяет проксирование ответов
+//ResponseEntity<Object>, чтение и валидацию DTO, время старта и RSS процесса
+public class GatewayNativeSmokeIT {
+    private static final Pattern STARTED = Pattern.compile("Started ShareItGateway in ([0-9.]+) seconds");
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final AtomicReference<String> receivedItem = new AtomicReference<>();
+    private HttpServer stub;
+    private Process gateway;
+    private int gatewayPort;
+    private double startupSeconds;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String binary = System.getProperty("native.binary");
+        assumeTrue(binary != null && Files.isExecutable(Path.of(binary)), "Нативный gateway не собран");
+
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/users/1", exchange -> respond(exchange,
+                "{\"id\":1,\"name\":\"Пользователь\",\"email\":\"user@email.com\"}"));
+        stub.createContext("/items", exchange -> {
+            receivedItem.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            respond(exchange, "{\"id\":5,\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":true}");
+        });
+        stub.start();
+
+        gatewayPort = freePort();
+        gateway = new ProcessBuilder(binary,
+                "--server.port=" + gatewayPort,
+                "--shareit-server.url=http://localhost:" + stub.getAddress().getPort())
+                .redirectErrorStream(true)
+                .start();
+        startupSeconds = CompletableFuture.supplyAsync(this::awaitStarted).get(30, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (gateway != null) {
+            gateway.destroy();
+            gateway.waitFor(10, TimeUnit.SECONDS);
+        }
+        if (stub != null)
+            stub.stop(0);
+    }
+
+    @Test
+    void testNativeGatewayProxiesRequests() throws Exception {
+        HttpResponse<String> user = client.send(request("/users/1").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(user.statusCode(), equalTo(200));
+        assertThat(user.body(), containsString("\"name\":\"Пользователь\""));
+
+        HttpResponse<String> item = client.send(request("/items")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":true}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(item.statusCode(), equalTo(200));
+        assertThat(item.body(), containsString("\"id\":5"));
+        assertThat(receivedItem.get(), containsString("\"name\":\"Дрель\""));
+
+        HttpResponse<String> invalidUser = client.send(request("/users")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Пользователь\",\"email\":\"почта\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(invalidUser.statusCode(), equalTo(400));
+
+        long rssKb = rssKb(gateway.pid());
+        System.out.printf("Нативный gateway: старт %.3f с, RSS %d МБ%n", startupSeconds, rssKb / 1024);
+        assertThat(startupSeconds * 1000, lessThan(Double.parseDouble(System.getProperty("native.max-startup-ms",
+                "100"))));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + gatewayPort + path))
+                .header("X-Sharer-User-Id", "1")
+                .header("Content-Type", "application/json");
+    }
+
+    private double awaitStarted() {
+        BufferedReader output = new BufferedReader(new InputStreamReader(gateway.getInputStream(),
+                StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = output.readLine()) != null) {
+                System.out.println(line);
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    //Остальной вывод тоже нужно вычитывать, иначе процесс заблокируется на записи в лог
+                    Thread drain = new Thread(() -> output.lines().forEach(System.out::println));
+                    drain.setDaemon(true);
+                    drain.start();
+                    return Double.parseDouble(matcher.group(1));
+                }
+            }
+            throw new IllegalStateException("Нативный gateway завершился до старта");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private static long rssKb(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc/" + pid + "/status"))) {
+            if (line.startsWith("VmRSS:"))
+                return Long.parseLong(line.replaceAll("\\D", ""));
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.loadtest;
+
+import org.springframework.boot.loader.LaunchedURLClassLoader;
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.JarFileArchive;
+import org.springframework.boot.loader.jar.JarFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+//Запуск исполняемого jar Spring Boot внутри текущей JVM в собственном загрузчике классов
+final class EmbeddedApplication implements Closeable {
+    private final ClassLoader classLoader;
+    private final Closeable context;
+
+    private EmbeddedApplication(ClassLoader classLoader, Closeable context) {
+        this.classLoader = classLoader;
+        this.context = context;
+    }
+
+    static EmbeddedApplication start(Path jar, String... args) throws Exception {
+        JarFile.registerUrlProtocolHandler();
+        JarFileArchive archive = new JarFileArchive(jar.toFile());
+        String startClass = archive.getManifest().getMainAttributes().getValue("Start-Class");
+        if (startClass == null)
+            throw new IllegalStateException(jar + " не является исполняемым jar Spring Boot");
+
+        List<URL> urls = new ArrayList<>();
+        Iterator<Archive> nested = archive.getNestedArchives(
+                entry -> entry.getName().startsWith("BOOT-INF/"),
+                entry -> entry.isDirectory() ? entry.getName().equals("BOOT-INF/classes/")
+                        : entry.getName().startsWith("BOOT-INF/lib/"));
+        while (nested.hasNext()) {
+            urls.add(nested.next().getUrl());
+        }
+        ClassLoader classLoader = new LaunchedURLClassLoader(urls.toArray(new URL[0]),
+                ClassLoader.getPlatformClassLoader());
+
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            //Фабрику URL можно зарегистрировать в JVM только один раз, а Tomcat есть в обоих приложениях
+            classLoader.loadClass("org.apache.catalina.webresources.TomcatURLStreamHandlerFactory")
+                    .getMethod("disable")
+                    .invoke(null);
+            Class<?> application = classLoader.loadClass("org.springframework.boot.SpringApplication");
+            Object context = application.getMethod("run", Class.class, String[].class)
+                    .invoke(null, classLoader.loadClass(startClass), args);
+            return new EmbeddedApplication(classLoader, (Closeable) context);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            context.close();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+}
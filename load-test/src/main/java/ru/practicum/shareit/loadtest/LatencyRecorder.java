@@ -0,0 +1,49 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+//Задержки одного сценария в наносекундах; у каждого потока свой экземпляр, объединение после прогона
+final class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long nanos, boolean error) {
+        if (count == samples.length)
+            samples = Arrays.copyOf(samples, count * 2);
+        samples[count++] = nanos;
+        if (error)
+            errors++;
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > samples.length)
+            samples = Arrays.copyOf(samples, count + other.count);
+        System.arraycopy(other.samples, 0, samples, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    //Значения в миллисекундах: p50, p95, p99, max
+    double[] percentiles() {
+        if (count == 0)
+            return new double[]{0, 0, 0, 0};
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new double[]{percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted[count - 1] / 1_000_000.0};
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
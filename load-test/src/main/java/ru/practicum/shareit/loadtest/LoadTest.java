@@ -0,0 +1,239 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+//Нагрузочный прогон gateway + server в одной JVM на встроенной H2.
+//Замкнутая модель: каждый поток отправляет следующий запрос сразу после ответа на предыдущий.
+public class LoadTest {
+    private static final String[] ITEM_NAMES = {"Дрель", "Отвертка", "Пила", "Лестница", "Палатка", "Велосипед",
+            "Перфоратор", "Шуруповерт", "Фотоаппарат", "Проектор", "Самокат", "Спальник"};
+    private static final String[] ITEM_ADJECTIVES = {"аккумуляторная", "ручная", "складная", "туристическая",
+            "профессиональная", "детская", "компактная", "мощная"};
+
+    private final LoadTestConfig config;
+    private final ShareItApi api;
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<long[]> items = new ArrayList<>();
+    private final Queue<long[]> pendingBookings = new ConcurrentLinkedQueue<>();
+
+    private LoadTest(LoadTestConfig config, ShareItApi api) {
+        this.config = config;
+        this.api = api;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Path apps = Path.of(LoadTest.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .resolveSibling("apps");
+        int serverPort = freePort();
+        int gatewayPort = freePort();
+
+        System.out.println("Запуск server и gateway: " + config);
+        try (EmbeddedApplication server = EmbeddedApplication.start(apps.resolve("server.jar"),
+                "--server.port=" + serverPort,
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.sql.init.platform=h2",
+                "--spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--shareit.datasource.replicas.enabled=false",
+                "--shareit.web.virtual-threads.enabled=" + config.virtualThreads,
+                "--logging.level.root=WARN",
+                "--logging.level.ru.practicum.shareit=WARN");
+             EmbeddedApplication gateway = EmbeddedApplication.start(apps.resolve("gateway.jar"),
+                     "--server.port=" + gatewayPort,
+                     "--shareit-server.url=http://localhost:" + serverPort,
+                     "--shareit.web.virtual-threads.enabled=" + config.virtualThreads,
+                     "--logging.level.root=WARN",
+                     "--logging.level.ru.practicum.shareit=WARN",
+                     "--logging.level.org.springframework.web.client.RestTemplate=WARN")) {
+            LoadTest loadTest = new LoadTest(config, new ShareItApi("http://localhost:" + gatewayPort));
+            loadTest.seed();
+            Map<Operation, LatencyRecorder> result = loadTest.run();
+            loadTest.report(result);
+        }
+    }
+
+    private void seed() {
+        long started = System.nanoTime();
+        Random random = new Random(config.seed);
+
+        for (int i = 1; i <= config.users; i++) {
+            userIds.add(api.createUser("User " + i, "user" + i + "@load.test"));
+        }
+
+        for (long ownerId : userIds) {
+            List<Map<String, Object>> batch = new ArrayList<>(config.itemsPerUser);
+            for (int i = 0; i < config.itemsPerUser; i++) {
+                String name = ITEM_NAMES[random.nextInt(ITEM_NAMES.length)];
+                String adjective = ITEM_ADJECTIVES[random.nextInt(ITEM_ADJECTIVES.length)];
+                batch.add(Map.of("name", name + " " + adjective,
+                        "description", name + " " + adjective + ", в хорошем состоянии",
+                        "available", true));
+            }
+            if (!batch.isEmpty()) {
+                for (long itemId : api.createItems(ownerId, batch)) {
+                    items.add(new long[]{itemId, ownerId});
+                }
+            }
+        }
+
+        for (int i = 0; i < config.requests; i++) {
+            api.createRequest(randomUser(random), "Нужна " + ITEM_NAMES[random.nextInt(ITEM_NAMES.length)]);
+        }
+
+        for (int i = 0; i < config.bookings; i++) {
+            long[] item = items.get(random.nextInt(items.size()));
+            long bookerId = randomBooker(random, item[1]);
+            LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(365));
+            long bookingId = api.createBooking(bookerId, item[0], start, start.plusDays(1 + random.nextInt(3)));
+            pendingBookings.add(new long[]{bookingId, item[1]});
+        }
+
+        System.out.printf("Данные созданы за %d мс: пользователей %d, предметов %d, запросов %d, бронирований %d%n",
+                (System.nanoTime() - started) / 1_000_000, userIds.size(), items.size(), config.requests,
+                config.bookings);
+    }
+
+    private Map<Operation, LatencyRecorder> run() throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmupSeconds * 1_000_000_000L;
+        long measureTo = measureFrom + config.durationSeconds * 1_000_000_000L;
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.threads);
+        List<Future<Map<Operation, LatencyRecorder>>> workers = new ArrayList<>();
+        for (int i = 0; i < config.threads; i++) {
+            workers.add(executor.submit(() -> work(measureFrom, measureTo)));
+        }
+
+        Map<Operation, LatencyRecorder> result = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            result.put(operation, new LatencyRecorder());
+        }
+        for (Future<Map<Operation, LatencyRecorder>> worker : workers) {
+            worker.get().forEach((operation, recorder) -> result.get(operation).merge(recorder));
+        }
+        executor.shutdown();
+        return result;
+    }
+
+    private Map<Operation, LatencyRecorder> work(long measureFrom, long measureTo) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long now;
+        while ((now = System.nanoTime()) < measureTo) {
+            Operation operation = Operation.pick(random.nextInt(Operation.totalWeight()));
+            long[] pending = operation == Operation.BOOKING_CONFIRM ? pendingBookings.poll() : null;
+            if (operation == Operation.BOOKING_CONFIRM && pending == null)
+                operation = Operation.BOOKING_CREATE;
+            long[] item = items.get(random.nextInt(items.size()));
+
+            HttpRequest request;
+            switch (operation) {
+                case SEARCH:
+                    request = api.search(randomUser(random),
+                            ITEM_ADJECTIVES[random.nextInt(ITEM_ADJECTIVES.length)]);
+                    break;
+                case ITEM_VIEW:
+                    request = api.itemView(randomUser(random), item[0]);
+                    break;
+                case OWNER_BOOKINGS:
+                    request = api.ownerBookings(item[1]);
+                    break;
+                case REQUEST_FEED:
+                    request = api.requestFeed(randomUser(random));
+                    break;
+                case BOOKING_CONFIRM:
+                    request = api.bookingConfirm(pending[1], pending[0]);
+                    break;
+                default:
+                    LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(365));
+                    request = api.bookingCreate(randomBooker(random, item[1]), item[0], start,
+                            start.plusDays(1 + random.nextInt(3)));
+            }
+
+            long started = System.nanoTime();
+            HttpResponse<String> response = api.execute(request);
+            long elapsed = System.nanoTime() - started;
+            boolean error = response.statusCode() >= 400;
+            if (operation == Operation.BOOKING_CREATE && !error)
+                pendingBookings.add(new long[]{api.id(response), item[1]});
+            if (now >= measureFrom)
+                recorders.get(operation).record(elapsed, error);
+        }
+        return recorders;
+    }
+
+    private void report(Map<Operation, LatencyRecorder> result) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        System.out.printf("%n%-28s %9s %9s %7s %9s %9s %9s %9s%n",
+                "Эндпоинт", "Запросов", "RPS", "Ошибок", "p50, мс", "p95, мс", "p99, мс", "max, мс");
+        for (Map.Entry<Operation, LatencyRecorder> entry : result.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            double[] percentiles = recorder.percentiles();
+            double throughput = (double) recorder.count() / config.durationSeconds;
+            System.out.printf("%-28s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n", entry.getKey().endpoint,
+                    recorder.count(), throughput, recorder.errors(),
+                    percentiles[0], percentiles[1], percentiles[2], percentiles[3]);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", entry.getKey().endpoint);
+            row.put("requests", recorder.count());
+            row.put("throughput", throughput);
+            row.put("errors", recorder.errors());
+            row.put("p50", percentiles[0]);
+            row.put("p95", percentiles[1]);
+            row.put("p99", percentiles[2]);
+            row.put("max", percentiles[3]);
+            rows.add(row);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config.toString());
+        report.put("endpoints", rows);
+        Files.write(config.result, new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValueAsBytes(report));
+        System.out.println("\nРезультат сохранен в " + config.result.toAbsolutePath());
+    }
+
+    private long randomUser(Random random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    //Равновероятно один из остальных пользователей: владелец заменяется последним в списке, без повторных попыток
+    private long randomBooker(Random random, long ownerId) {
+        long bookerId = userIds.get(random.nextInt(userIds.size() - 1));
+        return bookerId == ownerId ? userIds.get(userIds.size() - 1) : bookerId;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
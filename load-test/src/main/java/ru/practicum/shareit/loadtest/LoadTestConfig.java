@@ -0,0 +1,57 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+//Параметры запуска в виде --ключ=значение, например --users=500 --threads=32 --duration=120
+final class LoadTestConfig {
+    final int users;
+    final int itemsPerUser;
+    final int bookings;
+    final int requests;
+    final int threads;
+    final int warmupSeconds;
+    final int durationSeconds;
+    final long seed;
+    final boolean virtualThreads;
+    final Path result;
+
+    private LoadTestConfig(Map<String, String> values) {
+        users = intValue(values, "users", 200);
+        itemsPerUser = intValue(values, "items-per-user", 10);
+        bookings = intValue(values, "bookings", 2_000);
+        requests = intValue(values, "requests", 200);
+        threads = intValue(values, "threads", 16);
+        warmupSeconds = intValue(values, "warmup", 10);
+        durationSeconds = intValue(values, "duration", 60);
+        seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        virtualThreads = Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false"));
+        result = Path.of(values.getOrDefault("result", "load-test-result.json"));
+        if (users < 2)
+            throw new IllegalArgumentException("Для бронирований нужно минимум два пользователя");
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("Некорректный параметр " + arg + ", ожидается --ключ=значение");
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(values);
+    }
+
+    private static int intValue(Map<String, String> values, String key, int defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", items-per-user=" + itemsPerUser + ", bookings=" + bookings +
+                ", requests=" + requests + ", threads=" + threads + ", warmup=" + warmupSeconds + "s" +
+                ", duration=" + durationSeconds + "s, seed=" + seed + ", virtual-threads=" + virtualThreads;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.loadtest;
+
+//Сценарии нагрузки и их доля в общем потоке запросов
+enum Operation {
+    SEARCH("GET /items/search", 30),
+    ITEM_VIEW("GET /items/{itemId}", 25),
+    OWNER_BOOKINGS("GET /bookings/owner", 15),
+    REQUEST_FEED("GET /requests/all", 10),
+    BOOKING_CREATE("POST /bookings", 10),
+    BOOKING_CONFIRM("PATCH /bookings/{bookingId}", 10);
+
+    private static final Operation[] VALUES = values();
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (Operation operation : VALUES) {
+            total += operation.weight;
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    final String endpoint;
+    private final int weight;
+
+    Operation(String endpoint, int weight) {
+        this.endpoint = endpoint;
+        this.weight = weight;
+    }
+
+    static Operation pick(int random) {
+        int point = random % TOTAL_WEIGHT;
+        for (Operation operation : VALUES) {
+            point -= operation.weight;
+            if (point < 0)
+                return operation;
+        }
+        throw new IllegalStateException();
+    }
+
+    static int totalWeight() {
+        return TOTAL_WEIGHT;
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+//HTTP-клиент gateway: те же запросы, что отправляют пользователи сервиса
+final class ShareItApi {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final String baseUrl;
+
+    ShareItApi(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    long createUser(String name, String email) {
+        return id(send(post("/users", null, Map.of("name", name, "email", email))));
+    }
+
+    long[] createItems(long ownerId, List<Map<String, Object>> items) {
+        JsonNode created = send(post("/items/batch", ownerId, items));
+        long[] ids = new long[created.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = created.get(i).get("id").asLong();
+        }
+        return ids;
+    }
+
+    long createRequest(long userId, String description) {
+        return id(send(post("/requests", userId, Map.of("description", description))));
+    }
+
+    long createBooking(long bookerId, long itemId, LocalDateTime start, LocalDateTime end) {
+        return id(send(bookingCreate(bookerId, itemId, start, end)));
+    }
+
+    HttpRequest search(long userId, String text) {
+        return get("/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8) + "&from=0&size=20",
+                userId);
+    }
+
+    HttpRequest itemView(long userId, long itemId) {
+        return get("/items/" + itemId, userId);
+    }
+
+    HttpRequest ownerBookings(long ownerId) {
+        return get("/bookings/owner?state=ALL&from=0&size=20", ownerId);
+    }
+
+    HttpRequest requestFeed(long userId) {
+        return get("/requests/all?from=0&size=20", userId);
+    }
+
+    HttpRequest bookingCreate(long bookerId, long itemId, LocalDateTime start, LocalDateTime end) {
+        return post("/bookings", bookerId, Map.of("itemId", itemId, "start", start, "end", end));
+    }
+
+    HttpRequest bookingConfirm(long ownerId, long bookingId) {
+        return request("/bookings/" + bookingId + "?approved=true", ownerId)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    HttpResponse<String> execute(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    long id(HttpResponse<String> response) {
+        return id(body(response));
+    }
+
+    private long id(JsonNode body) {
+        return body.get("id").asLong();
+    }
+
+    private JsonNode send(HttpRequest request) {
+        return body(execute(request));
+    }
+
+    private JsonNode body(HttpResponse<String> response) {
+        if (response.statusCode() >= 400)
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri() +
+                    " вернул " + response.statusCode() + ": " + response.body());
+        try {
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return request(path, userId).GET().build();
+    }
+
+    private HttpRequest post(String path, Long userId, Object body) {
+        try {
+            return request(path, userId)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (userId != null)
+            builder.header(USER_HEADER, userId.toString());
+        return builder;
+    }
+}
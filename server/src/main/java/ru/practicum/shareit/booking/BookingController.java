@@ -4,11 +4,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.io.IOException;
 import java.util.List;
 
 @Validated
@@ -16,7 +21,11 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    //Нормализованный формат списка: предметы и пользователи страницы вынесены в отдельные таблицы
+    static final String NORMALIZED = "format=normalized";
+
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
     @PostMapping
     public BookingUserDto newBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
@@ -45,6 +54,14 @@ public class BookingController {
         return bookingService.getAllBookerBookings(userId, state, from, size);
     }
 
+    @GetMapping(params = NORMALIZED)
+    public BookingPageDto getPageByBookerIdAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @RequestParam(defaultValue = "ALL") String state,
+                                                    @Min(0) @RequestParam(defaultValue = "0") Integer from,
+                                                    @Min(1) @RequestParam(defaultValue = "20") Integer size) {
+        return BookingMapper.toBookingPageDto(bookingService.getAllBookerBookings(userId, state, from, size));
+    }
+
     @GetMapping("/owner")
     public List<BookingUserDto> getAllByOwnerIdAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                         @RequestParam(defaultValue = "ALL") String state,
@@ -52,4 +69,19 @@ public class BookingController {
                                                         @Min(1) @RequestParam(defaultValue = "20") Integer size) {
         return bookingService.getAllOwnerBookings(userId, state, from, size);
     }
+
+    @GetMapping(path = "/owner", params = NORMALIZED)
+    public BookingPageDto getPageByOwnerIdAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @RequestParam(defaultValue = "ALL") String state,
+                                                   @Min(0) @RequestParam(defaultValue = "0") Integer from,
+                                                   @Min(1) @RequestParam(defaultValue = "20") Integer size) {
+        return BookingMapper.toBookingPageDto(bookingService.getAllOwnerBookings(userId, state, from, size));
+    }
+
+    @GetMapping("/owner/export")
+    public void exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                    HttpServletResponse response) throws IOException {
+        response.setContentType(BookingExportService.NDJSON);
+        bookingExportService.exportOwnerBookings(userId, response.getOutputStream());
+    }
 }
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.archive;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ru.practicum.shareit.booking.service.BookingService;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(BookingArchiveProperties.class)
+@ConditionalOnProperty(prefix = "shareit.booking.archive", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class BookingArchiveConfig {
+
+    @Bean
+    public BookingArchiveScheduler bookingArchiveScheduler(BookingService bookingService,
+                                                           BookingArchiveProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        return new BookingArchiveScheduler(bookingService, properties, meterRegistry);
+    }
+}
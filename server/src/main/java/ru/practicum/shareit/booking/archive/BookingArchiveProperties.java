@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.booking.archive")
+public class BookingArchiveProperties {
+    private boolean enabled = true;
+
+    //Сколько завершённые бронирования хранятся в bookings перед переносом в bookings_archive
+    private Duration retention = Duration.ofDays(365);
+
+    //Количество бронирований, переносимых в одной транзакции
+    private int batchSize = 1000;
+
+    private long checkIntervalMs = 3600000;
+}
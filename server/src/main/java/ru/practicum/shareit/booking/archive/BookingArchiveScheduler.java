@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+
+//Переносит бронирования, завершившиеся раньше retention, из bookings в bookings_archive.
+//В bookings остаются только недавние и будущие бронирования, по которым работают CURRENT, FUTURE и WAITING
+@Slf4j
+public class BookingArchiveScheduler {
+    private final BookingService bookingService;
+
+    private final BookingArchiveProperties properties;
+
+    private final Counter archivedCounter;
+
+    public BookingArchiveScheduler(BookingService bookingService,
+                                   BookingArchiveProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.bookingService = bookingService;
+        this.properties = properties;
+        this.archivedCounter = Counter.builder("shareit.booking.archived")
+                .description("Бронирования, перенесённые в архив")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking.archive.check-interval-ms:3600000}",
+            fixedDelayString = "${shareit.booking.archive.check-interval-ms:3600000}")
+    public void archiveFinishedBookings() {
+        try {
+            int archived = archive(LocalDateTime.now());
+            if (archived > 0)
+                log.info("Перенесено в архив бронирований: {}", archived);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось перенести бронирования в архив: {}", e.getMessage());
+        }
+    }
+
+    public int archive(LocalDateTime now) {
+        LocalDateTime endBefore = now.minus(properties.getRetention());
+        int batchSize = properties.getBatchSize();
+        int total = 0;
+        int archived;
+        do {
+            archived = bookingService.archiveFinished(endBefore, batchSize);
+            archivedCounter.increment(archived);
+            total += archived;
+        } while (archived == batchSize);
+        return total;
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.dto;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingHistory;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.IncorrectParameterException;
 import ru.practicum.shareit.item.dto.ItemMapper;
@@ -9,8 +10,14 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @UtilityClass
@@ -48,6 +55,15 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingItemDto toBookingItemDto(BookingItemView booking) {
+        return BookingItemDto.builder()
+                .bookerId(booking.getBookerId())
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .build();
+    }
+
     public static BookingUserDto toBookingUserDto(Booking booking) {
         return BookingUserDto.builder()
                 .id(booking.getId())
@@ -59,8 +75,34 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingUserDto toBookingUserDto(BookingHistory booking) {
+        return BookingUserDto.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .status(booking.getStatus())
+                .item(ItemMapper.toItemDto(booking.getItem()))
+                .booker(UserMapper.toUserDto(booking.getBooker()))
+                .build();
+    }
+
     public static List<BookingUserDto> fromListBooking(List<Booking> input) {
         return input.stream()
                 .map(BookingMapper::toBookingUserDto).collect(Collectors.toList());
     }
+
+    public static BookingPageDto toBookingPageDto(List<BookingUserDto> input) {
+        List<BookingRefDto> bookings = new ArrayList<>(input.size());
+        Map<Long, ItemDto> items = new LinkedHashMap<>();
+        Map<Long, UserDto> users = new LinkedHashMap<>();
+        for (BookingUserDto booking : input) {
+            ItemDto item = booking.getItem();
+            UserDto booker = booking.getBooker();
+            items.putIfAbsent(item.getId(), item);
+            users.putIfAbsent(booker.getId(), booker);
+            bookings.add(new BookingRefDto(booking.getId(), booking.getStart(), booking.getEnd(),
+                    booking.getStatus(), item.getId(), booker.getId()));
+        }
+        return new BookingPageDto(bookings, new ArrayList<>(items.values()), new ArrayList<>(users.values()));
+    }
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+//Страница бронирований, в которой каждый предмет и пользователь сериализуются один раз
+@Data
+@AllArgsConstructor
+@Builder
+public class BookingPageDto {
+    private List<BookingRefDto> bookings;
+
+    private List<ItemDto> items;
+
+    private List<UserDto> users;
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+//Бронирование в нормализованном списке: предмет и автор передаются ссылками на BookingPageDto.items/users
+@Data
+@AllArgsConstructor
+@Builder
+public class BookingRefDto {
+    private Long id;
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+    private BookingStatus status;
+
+    private Long itemId;
+
+    private Long bookerId;
+}
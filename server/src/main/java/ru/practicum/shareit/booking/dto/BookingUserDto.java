@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -12,6 +13,7 @@ import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Data
+@AllArgsConstructor
 @Builder
 public class BookingUserDto {
     private Long id;
@@ -28,4 +30,17 @@ public class BookingUserDto {
 
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+
+    //Используется в проекциях BookingRepository
+    public BookingUserDto(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                          Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                          Long itemRequestId, Integer itemCommentCount,
+                          Long bookerId, String bookerName, String bookerEmail) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.status = status;
+        this.item = new ItemDto(itemId, itemName, itemDescription, itemAvailable, itemRequestId, itemCommentCount);
+        this.booker = new UserDto(bookerId, bookerName, bookerEmail);
+    }
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.expiration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ru.practicum.shareit.booking.service.BookingService;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "shareit.booking.expiration", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class BookingExpirationConfig {
+
+    @Bean
+    public BookingExpirationScheduler bookingExpirationScheduler(BookingService bookingService,
+                                                                 BookingExpirationProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        return new BookingExpirationScheduler(bookingService, properties, meterRegistry);
+    }
+}
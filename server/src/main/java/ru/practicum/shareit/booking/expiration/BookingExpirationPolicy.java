@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.expiration;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+//Общее правило просрочки для фоновой задачи и подтверждения владельцем: ответ после срока не зависит от того,
+//успела ли задача перевести бронирование в EXPIRED. При shareit.booking.expiration.enabled=false просрочки нет вовсе
+@Component
+@EnableConfigurationProperties(BookingExpirationProperties.class)
+@RequiredArgsConstructor
+public class BookingExpirationPolicy {
+    private final BookingExpirationProperties properties;
+
+    //Бронирования WAITING, начинающиеся раньше этого момента, просрочены
+    public LocalDateTime startBefore(LocalDateTime now) {
+        return now.plus(properties.getApprovalDeadline());
+    }
+
+    public boolean isExpired(Booking booking, LocalDateTime now) {
+        if (!properties.isEnabled())
+            return false;
+        return booking.getStatus() == BookingStatus.EXPIRED
+                || booking.getStatus() == BookingStatus.WAITING && booking.getStart().isBefore(startBefore(now));
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.expiration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.booking.expiration")
+public class BookingExpirationProperties {
+    private boolean enabled = true;
+
+    //Срок, не позднее которого до начала бронирования владелец должен ответить; 0 - до самого начала
+    private Duration approvalDeadline = Duration.ZERO;
+
+    //Количество бронирований, обновляемых в одной транзакции
+    private int batchSize = 500;
+
+    private long checkIntervalMs = 60000;
+}
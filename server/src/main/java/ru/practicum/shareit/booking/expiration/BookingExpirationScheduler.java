@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking.expiration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+
+//Переводит в EXPIRED бронирования, оставшиеся в WAITING к сроку ответа владельца.
+//Каждая порция обновляется в отдельной транзакции, чтобы не держать блокировки на таблице bookings
+@Slf4j
+public class BookingExpirationScheduler {
+    private final BookingService bookingService;
+
+    private final BookingExpirationProperties properties;
+
+    private final BookingExpirationPolicy policy;
+
+    private final Counter expiredCounter;
+
+    public BookingExpirationScheduler(BookingService bookingService,
+                                      BookingExpirationProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.bookingService = bookingService;
+        this.properties = properties;
+        this.policy = new BookingExpirationPolicy(properties);
+        this.expiredCounter = Counter.builder("shareit.booking.expired")
+                .description("Бронирования, просроченные без ответа владельца")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking.expiration.check-interval-ms:60000}",
+            fixedDelayString = "${shareit.booking.expiration.check-interval-ms:60000}")
+    public void expireWaitingBookings() {
+        try {
+            int expired = expire(LocalDateTime.now());
+            if (expired > 0)
+                log.info("Просрочено бронирований без ответа владельца: {}", expired);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось перевести бронирования в EXPIRED: {}", e.getMessage());
+        }
+    }
+
+    public int expire(LocalDateTime now) {
+        LocalDateTime startBefore = policy.startBefore(now);
+        int batchSize = properties.getBatchSize();
+        int total = 0;
+        int expired;
+        do {
+            expired = bookingService.expireWaiting(startBefore, batchSize);
+            expiredCounter.increment(expired);
+            total += expired;
+        } while (expired == batchSize);
+        return total;
+    }
+}
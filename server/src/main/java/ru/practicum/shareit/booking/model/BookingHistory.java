@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+//Бронирования из горячей таблицы bookings и архива bookings_archive (представление bookings_history), только чтение.
+//@Synchronize: перед запросом к представлению Hibernate сбрасывает несохранённые изменения Booking
+@Entity
+@Immutable
+@Synchronize({"bookings", "bookings_archive"})
+@Table(name = "bookings_history")
+@Getter
+@NoArgsConstructor
+public class BookingHistory {
+    @Id
+    private Long id;
+
+    @Column(name = "start_date")
+    private LocalDateTime start;
+
+    @Column(name = "end_date")
+    private LocalDateTime end;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id")
+    private Item item;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booker_id")
+    private User booker;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingItemView;
+import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.booking.model.BookingHistory;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+//Запросы, которым нужны и архивные бронирования: ALL, PAST, REJECTED, EXPIRED и выгрузка истории.
+//CURRENT, FUTURE и WAITING в архиве не бывает, они остаются в BookingRepository и читают только bookings
+public interface BookingHistoryRepository extends JpaRepository<BookingHistory, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<BookingHistory> findById(Long id);
+
+    String SELECT_BOOKING_USER_DTO = "SELECT new ru.practicum.shareit.booking.dto.BookingUserDto(" +
+            "b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, r.id, i.commentCount, " +
+            "u.id, u.name, u.email) " +
+            "FROM BookingHistory b " +
+            "JOIN b.item i " +
+            "LEFT JOIN i.request r " +
+            "JOIN b.booker u ";
+
+    String EXPORT_FETCH_SIZE = "500";
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE u.id = ?1 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE u.id = ?1 AND b.end < ?2 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId,
+                                                                       LocalDateTime endBefore,
+                                                                       Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE u.id = ?1 AND b.status = ?2 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByBookerIdAndStatusOrderByStartDesc(Long bookerId,
+                                                                    BookingStatus bookingStatus,
+                                                                    Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE i.owner.id = ?1 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByItemOwnerIdOrderByStartDesc(Long ownerId,
+                                                              Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE i.owner.id = ?1 AND b.end < ?2 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId,
+                                                                          LocalDateTime endBefore,
+                                                                          Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE i.owner.id = ?1 AND b.status = ?2 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId,
+                                                                       BookingStatus bookingStatus,
+                                                                       Pageable pageable);
+
+    //Курсор только вперёд: строки читаются из БД порциями по EXPORT_FETCH_SIZE, а не всем результатом сразу
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE i.owner.id = ?1 " +
+            "ORDER BY b.id")
+    Stream<BookingUserDto> streamAllByItemOwnerId(Long ownerId);
+
+    boolean existsByItemIdAndBookerIdAndStatusAndEndBefore(Long itemId, Long userId, BookingStatus status,
+                                                           LocalDateTime endBefore);
+
+    //Последнее подтверждённое бронирование из архива: нужно предметам, у которых в bookings не осталось прошедших.
+    //В архиве только завершённые бронирования, поэтому ограничение по текущему времени не требуется
+    @Query(value = "SELECT b1.id AS id, b1.item_id AS itemId, b1.booker_id AS bookerId, " +
+                "b1.start_date AS start, b1.end_date AS \"end\" " +
+            "FROM bookings_archive b1 " +
+            "JOIN (" +
+                "SELECT item_id, MAX(start_date) as max_start_date " +
+                "FROM bookings_archive " +
+                "WHERE item_id IN (:itemIds) " +
+                "AND status = 'APPROVED' " +
+                "GROUP BY item_id) b2 " +
+            "ON b1.item_id = b2.item_id AND b1.start_date = b2.max_start_date " +
+            "WHERE b1.status = 'APPROVED'", nativeQuery = true)
+    List<BookingItemView> getLastArchivedBookingsByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+}
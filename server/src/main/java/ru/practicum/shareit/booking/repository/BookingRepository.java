@@ -1,55 +1,111 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingItemView;
+import ru.practicum.shareit.booking.dto.BookingUserDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId,
-                                                                LocalDateTime endBefore,
-                                                                Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Long bookerId,
-                                                                 LocalDateTime startAfter,
-                                                                 Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId,
-                                                                             LocalDateTime startBefore,
-                                                                             LocalDateTime endAfter,
-                                                                             Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long bookerId,
-                                                             BookingStatus bookingStatus,
-                                                             Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Long bookerId,
-                                                       Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long bookerId,
-                                                                   LocalDateTime endBefore,
-                                                                   Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Long bookerId,
-                                                                    LocalDateTime startAfter,
+    //get и confirm проверяют доступ и возвращают предмет и автора: связи читаются тем же запросом
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
+
+    //Проекция сразу в BookingUserDto, без загрузки сущностей Booking, Item и User в контекст
+    String SELECT_BOOKING_USER_DTO = "SELECT new ru.practicum.shareit.booking.dto.BookingUserDto(" +
+            "b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, r.id, i.commentCount, " +
+            "u.id, u.name, u.email) " +
+            "FROM Booking b " +
+            "JOIN b.item i " +
+            "LEFT JOIN i.request r " +
+            "JOIN b.booker u ";
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE u.id = ?1 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE u.id = ?1 AND b.end < ?2 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId,
+                                                                       LocalDateTime endBefore,
+                                                                       Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE u.id = ?1 AND b.start > ?2 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByBookerIdAndStartAfterOrderByStartDesc(Long bookerId,
+                                                                        LocalDateTime startAfter,
+                                                                        Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE u.id = ?1 AND b.start < ?2 AND b.end > ?3 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId,
+                                                                                    LocalDateTime startBefore,
+                                                                                    LocalDateTime endAfter,
+                                                                                    Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE u.id = ?1 AND b.status = ?2 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByBookerIdAndStatusOrderByStartDesc(Long bookerId,
+                                                                    BookingStatus bookingStatus,
                                                                     Pageable pageable);
 
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId,
-                                                                                LocalDateTime startBefore,
-                                                                                LocalDateTime endAfter,
-                                                                                Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long bookerId,
-                                                                BookingStatus bookingStatus,
-                                                                Pageable pageable);
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE i.owner.id = ?1 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByItemOwnerIdOrderByStartDesc(Long ownerId,
+                                                              Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE i.owner.id = ?1 AND b.end < ?2 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId,
+                                                                          LocalDateTime endBefore,
+                                                                          Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE i.owner.id = ?1 AND b.start > ?2 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Long ownerId,
+                                                                           LocalDateTime startAfter,
+                                                                           Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE i.owner.id = ?1 AND b.start < ?2 AND b.end > ?3 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long ownerId,
+                                                                                       LocalDateTime startBefore,
+                                                                                       LocalDateTime endAfter,
+                                                                                       Pageable pageable);
+
+    @Query(SELECT_BOOKING_USER_DTO +
+            "WHERE i.owner.id = ?1 AND b.status = ?2 " +
+            "ORDER BY b.start DESC")
+    List<BookingUserDto> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId,
+                                                                       BookingStatus bookingStatus,
+                                                                       Pageable pageable);
 
     @Query(value = "select * " +
             "FROM bookings " +
@@ -98,5 +154,80 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "ON b1.item_id = b2.item_id AND b1.start_date = b2.min_start_date", nativeQuery = true)
     List<Booking> getNextBookings(Long ownerId, LocalDateTime startDate);
 
+    //Как getLastBookings и getNextBookings, но для заданных предметов, а не всех предметов владельца
+    @Query(value = "SELECT b1.id AS id, b1.item_id AS itemId, b1.booker_id AS bookerId, " +
+                "b1.start_date AS start, b1.end_date AS \"end\" " +
+            "FROM bookings b1 " +
+            "JOIN (" +
+                "SELECT item_id, MAX(start_date) as max_start_date " +
+                "FROM bookings " +
+                "WHERE item_id IN (:itemIds) " +
+                "AND status = 'APPROVED' " +
+                "AND start_date < :now " +
+                "GROUP BY item_id) b2 " +
+            "ON b1.item_id = b2.item_id AND b1.start_date = b2.max_start_date " +
+            "WHERE b1.status = 'APPROVED'", nativeQuery = true)
+    List<BookingItemView> getLastBookingsByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                                    @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT b1.id AS id, b1.item_id AS itemId, b1.booker_id AS bookerId, " +
+                "b1.start_date AS start, b1.end_date AS \"end\" " +
+            "FROM bookings b1 " +
+            "JOIN (" +
+                "SELECT item_id, MIN(start_date) as min_start_date " +
+                "FROM bookings " +
+                "WHERE item_id IN (:itemIds) " +
+                "AND status = 'APPROVED' " +
+                "AND start_date >= :now " +
+                "GROUP BY item_id) b2 " +
+            "ON b1.item_id = b2.item_id AND b1.start_date = b2.min_start_date " +
+            "WHERE b1.status = 'APPROVED'", nativeQuery = true)
+    List<BookingItemView> getNextBookingsByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                                    @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT id, item_id AS itemId, booker_id AS bookerId, start_date AS start, end_date AS \"end\" " +
+            "FROM bookings " +
+            "WHERE item_id = :itemId AND status = 'APPROVED' " +
+            "ORDER BY start_date", nativeQuery = true)
+    List<BookingItemView> getApprovedBookingsByItemId(@Param("itemId") Long itemId);
+
+    //Предметы из itemIds, у которых есть бронирование со статусом status, пересекающее период [start, end)
+    @Query("SELECT DISTINCT b.item.id FROM Booking b " +
+            "WHERE b.item.id IN ?1 AND b.status = ?2 AND b.start < ?4 AND b.end > ?3")
+    List<Long> findBookedItemIds(Collection<Long> itemIds, BookingStatus status,
+                                 LocalDateTime start, LocalDateTime end);
+
     boolean existsByItemIdAndBookerIdAndStatusAndEndBefore(Long itemId, Long userId, BookingStatus status, LocalDateTime endBefore);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.status = ?1 AND b.start < ?2 ORDER BY b.start")
+    List<Long> findIdsByStatusAndStartBefore(BookingStatus status, LocalDateTime startBefore, Pageable pageable);
+
+    //Статус проверяется повторно: бронирование могли подтвердить между выборкой и обновлением
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = ?3 WHERE b.id IN ?1 AND b.status = ?2")
+    int updateStatus(Collection<Long> ids, BookingStatus from, BookingStatus to);
+
+    //Строки блокируются до переноса в архив, чтобы их не изменили между копированием и удалением
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Booking b WHERE b.end < ?1 AND b.status <> ?2 ORDER BY b.end")
+    List<Long> findIdsByEndBeforeAndStatusNot(LocalDateTime endBefore, BookingStatus status, Pageable pageable);
+
+    //countQuery указан явно: Spring Data не может вывести его из INSERT ... SELECT и падает при старте.
+    //Без списка затронутых таблиц Hibernate после нативного INSERT очистил бы все регионы кэша второго уровня
+    @Modifying
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = "bookings_archive"))
+    @Query(value = "INSERT INTO bookings_archive (id, start_date, end_date, item_id, booker_id, status) " +
+            "SELECT b.id, b.start_date, b.end_date, b.item_id, b.booker_id, b.status " +
+            "FROM bookings b " +
+            "WHERE b.id IN (:ids)",
+            countQuery = "SELECT count(*) FROM bookings b WHERE b.id IN (:ids)",
+            nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT i FROM Booking b JOIN b.item i WHERE b.id IN ?1 ORDER BY i.id")
+    List<Item> findItemsByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN ?1")
+    int deleteAllByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.booking.repository.BookingHistoryRepository;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.metrics.MetricsConfig;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, percentiles = {0.5, 0.95, 0.99}, histogram = true)
+@Slf4j
+public class BookingExportService {
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    public BookingExportService(BookingHistoryRepository bookingHistoryRepository, UserRepository userRepository,
+                                ObjectMapper objectMapper) {
+        this.bookingHistoryRepository = bookingHistoryRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(BookingUserDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    //Все бронирования владельца построчно (NDJSON) прямо из курсора БД: в памяти только текущая порция строк
+    @Transactional(readOnly = true)
+    public long exportOwnerBookings(Long ownerId, OutputStream out) throws IOException {
+        log.debug("Вызов метода exportOwnerBookings с ownerId = {}", ownerId);
+        if (!userRepository.existsById(ownerId))
+            throw new ObjectNotFoundException("Пользователь с id = " + ownerId + " не найден");
+
+        long count = 0;
+        try (Stream<BookingUserDto> bookings = bookingHistoryRepository.streamAllByItemOwnerId(ownerId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<BookingUserDto> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        log.debug("Выгружено {} бронирований владельца {}", count, ownerId);
+        return count;
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.service;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingUserDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -16,4 +17,8 @@ public interface BookingService {
 
     List<BookingUserDto> getAllBookerBookings(Long userId, String state, Integer fromElement, Integer size);
 
+    int expireWaiting(LocalDateTime startBefore, int limit);
+
+    int archiveFinished(LocalDateTime endBefore, int limit);
+
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -10,14 +11,20 @@ import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.booking.expiration.BookingExpirationPolicy;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingHistory;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingHistoryRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.IncorrectParameterException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.MetricsConfig;
+import ru.practicum.shareit.outbox.EventType;
+import ru.practicum.shareit.outbox.OutboxPublisher;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -26,12 +33,16 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final BookingExpirationPolicy expirationPolicy;
 
     @Transactional
     @Override
@@ -54,12 +65,13 @@ public class BookingServiceImpl implements BookingService {
 
             Booking booking = BookingMapper.fromBookingDtoInput(bookingDto, item.get(), user, BookingStatus.WAITING);
             booking = bookingRepository.save(booking);
+            outboxPublisher.bookingChanged(EventType.CREATED, booking);
             log.trace("Создана бронь с id = {}", booking.getId());
             return BookingMapper.toBookingUserDto(booking);
         }
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public BookingUserDto get(Long bookingId, Long userId) {
         log.debug("Вызов метода get с bookingId = {}, userId = {}", bookingId, userId);
@@ -67,7 +79,7 @@ public class BookingServiceImpl implements BookingService {
         Optional<Booking> booking = bookingRepository.findById(bookingId);
 
         if (booking.isEmpty()) {
-            throw new ObjectNotFoundException("Бронирование с id = " + bookingId + " не найдено.");
+            return getArchived(bookingId, userId);
         } else {
             //checkBooking(booking.get());
             if (!booking.get().getBooker().getId().equals(userId)
@@ -89,18 +101,23 @@ public class BookingServiceImpl implements BookingService {
         if (booking.isEmpty()) {
             throw new ObjectNotFoundException("Бронирование с id = " + bookingId + " не найдено.");
         } else {
-            if (booking.get().getItem().getOwner().getId().equals(userId)
-                    && booking.get().getStatus().equals(BookingStatus.APPROVED)) {
-                throw new ValidationException("Вещь уже забронирована.");
-            }
-
             if (!booking.get().getItem().getOwner().getId().equals(userId)) {
                 throw new ObjectNotFoundException(
                         "Пользователь с id = " + userId + " не является владельцем бронирование");
             }
 
+            if (booking.get().getStatus().equals(BookingStatus.APPROVED)) {
+                throw new ValidationException("Вещь уже забронирована.");
+            }
+
+            //WAITING после срока ответа просрочено, даже если фоновая задача ещё не перевела его в EXPIRED
+            if (expirationPolicy.isExpired(booking.get(), LocalDateTime.now())) {
+                throw new ValidationException("Бронирование с id = " + bookingId + " просрочено.");
+            }
+
             booking.get().setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
             Booking result = bookingRepository.save(booking.get());
+            outboxPublisher.bookingChanged(EventType.UPDATED, result);
             log.trace("Завершение вызова метода confirm");
             return BookingMapper.toBookingUserDto(result);
         }
@@ -111,7 +128,7 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingUserDto> getAllOwnerBookings(Long ownerId, String state, Integer fromElement, Integer size) {
         log.debug("Вызов метода getAllOwnerBookings с ownerId = {}, state = {}", ownerId, state);
         checkUser(ownerId);
-        List<Booking> result;
+        List<BookingUserDto> result;
 
         checkPages(fromElement, size);
         int fromPage = fromElement / size;
@@ -120,11 +137,11 @@ public class BookingServiceImpl implements BookingService {
             BookingState status = BookingState.valueOf(state);
             switch (status) {
                 case ALL:
-                    result = bookingRepository
+                    result = bookingHistoryRepository
                             .findAllByItemOwnerIdOrderByStartDesc(ownerId, pageable);
                     break;
                 case PAST:
-                    result = bookingRepository
+                    result = bookingHistoryRepository
                             .findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(
                                     ownerId, LocalDateTime.now(), pageable);
                     break;
@@ -144,15 +161,20 @@ public class BookingServiceImpl implements BookingService {
                                     ownerId, BookingStatus.WAITING, pageable);
                     break;
                 case REJECTED:
-                    result = bookingRepository
+                    result = bookingHistoryRepository
                             .findAllByItemOwnerIdAndStatusOrderByStartDesc(
                                     ownerId, BookingStatus.REJECTED, pageable);
                     break;
+                case EXPIRED:
+                    result = bookingHistoryRepository
+                            .findAllByItemOwnerIdAndStatusOrderByStartDesc(
+                                    ownerId, BookingStatus.EXPIRED, pageable);
+                    break;
                 default:
                     throw new IncorrectParameterException("Unknown state: " + state);
             }
             log.trace("Завершение вызова метода getAllOwnerBookings");
-            return BookingMapper.fromListBooking(result);
+            return result;
         } catch (Exception e) {
             throw new IncorrectParameterException("Unknown state: " + state);
         }
@@ -163,17 +185,17 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingUserDto> getAllBookerBookings(Long bookerId, String state, Integer fromElement, Integer size) {
         log.debug("Вызов метода getAllBookerBookings с bookerId = {}, state = {}", bookerId, state);
         checkUser(bookerId);
-        List<Booking> result;
+        List<BookingUserDto> result;
 
         checkPages(fromElement, size);
         int fromPage = fromElement / size;
         Pageable pageable = PageRequest.of(fromPage, size);
         switch (state.toUpperCase()) {
             case "ALL":
-                result = bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable);
+                result = bookingHistoryRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable);
                 break;
             case "PAST":
-                result = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(
+                result = bookingHistoryRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(
                         bookerId, LocalDateTime.now(), pageable);
                 break;
             case "FUTURE":
@@ -189,14 +211,66 @@ public class BookingServiceImpl implements BookingService {
                         bookerId, BookingStatus.WAITING, pageable);
                 break;
             case "REJECTED":
-                result = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
+                result = bookingHistoryRepository.findAllByBookerIdAndStatusOrderByStartDesc(
                         bookerId, BookingStatus.REJECTED, pageable);
                 break;
+            case "EXPIRED":
+                result = bookingHistoryRepository.findAllByBookerIdAndStatusOrderByStartDesc(
+                        bookerId, BookingStatus.EXPIRED, pageable);
+                break;
             default:
                 throw new ValidationException(String.format("Unknown state: %s", state.toUpperCase()));
         }
         log.trace("Завершение вызова метода getAllOwnerBookings");
-        return BookingMapper.fromListBooking(result);
+        return result;
+    }
+
+    @Transactional
+    @Override
+    public int archiveFinished(LocalDateTime endBefore, int limit) {
+        log.debug("Вызов метода archiveFinished с endBefore = {}, limit = {}", endBefore, limit);
+        //WAITING не переносится: такие бронирования ещё переводятся в EXPIRED и ищутся только в bookings
+        List<Long> ids = bookingRepository.findIdsByEndBeforeAndStatusNot(
+                endBefore, BookingStatus.WAITING, PageRequest.of(0, limit));
+        if (ids.isEmpty())
+            return 0;
+        //Представление предметов владельца и календарь занятости читают только bookings: событие на каждый
+        //затронутый предмет пересчитывает их без перенесённых бронирований
+        List<Item> items = bookingRepository.findItemsByIdIn(ids);
+        bookingRepository.copyToArchive(ids);
+        int archived = bookingRepository.deleteAllByIdIn(ids);
+        items.forEach(item -> outboxPublisher.itemChanged(EventType.UPDATED, item));
+        log.trace("Перенесено в архив бронирований: {}", archived);
+        return archived;
+    }
+
+    @Transactional
+    @Override
+    public int expireWaiting(LocalDateTime startBefore, int limit) {
+        log.debug("Вызов метода expireWaiting с startBefore = {}, limit = {}", startBefore, limit);
+        //Сначала выбираются id по индексу (status, start_date), затем обновляется только эта порция строк
+        List<Long> ids = bookingRepository.findIdsByStatusAndStartBefore(
+                BookingStatus.WAITING, startBefore, PageRequest.of(0, limit));
+        if (ids.isEmpty())
+            return 0;
+        int expired = bookingRepository.updateStatus(ids, BookingStatus.WAITING, BookingStatus.EXPIRED);
+        //Событие только для строк, которые действительно перешли в EXPIRED
+        bookingRepository.findAllById(ids)
+                .stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.EXPIRED)
+                .forEach(booking -> outboxPublisher.bookingChanged(EventType.UPDATED, booking));
+        log.trace("Просрочено бронирований: {}", expired);
+        return expired;
+    }
+
+    private BookingUserDto getArchived(Long bookingId, Long userId) {
+        BookingHistory booking = bookingHistoryRepository.findById(bookingId)
+                .orElseThrow(() -> new ObjectNotFoundException("Бронирование с id = " + bookingId + " не найдено."));
+        if (!booking.getBooker().getId().equals(userId)
+                && !booking.getItem().getOwner().getId().equals(userId)) {
+            throw new ObjectNotFoundException("Пользователь с id = " + userId + " не может одобрить бронирование");
+        }
+        return BookingMapper.toBookingUserDto(booking);
     }
 
     public User checkUser(Long userId) {
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.cache")
+public class EntityCacheProperties {
+    private boolean enabled = true;
+
+    //Регион кэша второго уровня -> наибольшее число сущностей в нём. Регион без записи здесь не создаётся
+    private Map<String, Long> regions = new LinkedHashMap<>();
+
+    //Ограничивает время жизни записи, прочитанной с отстающей реплики
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.comments.dto;
+
+import java.time.LocalDateTime;
+
+public interface CommentItemView {
+    Long getId();
+
+    Long getItemId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+}
@@ -19,6 +19,15 @@ public class CommentMapper {
                 .build();
     }
 
+    public static CommentDto toCommentDto(CommentItemView comment) {
+        return CommentDto.builder()
+                .id(comment.getId())
+                .text(comment.getText())
+                .authorName(comment.getAuthorName())
+                .created(comment.getCreated())
+                .build();
+    }
+
     public static Comment fromCommentDto(CommentDto commentDto, Item item, User user) {
         return Comment.builder()
                 .id(commentDto.getId())
@@ -34,4 +43,9 @@ public class CommentMapper {
         return input.stream()
                 .map(CommentMapper::toCommentDto).collect(Collectors.toList());
     }
+
+    public static List<CommentDto> fromListCommentView(List<CommentItemView> input) {
+        return input.stream()
+                .map(CommentMapper::toCommentDto).collect(Collectors.toList());
+    }
 }
@@ -1,12 +1,35 @@
 package ru.practicum.shareit.comments.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.comments.dto.CommentDto;
+import ru.practicum.shareit.comments.dto.CommentItemView;
 import ru.practicum.shareit.comments.model.Comment;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+    @Query(" SELECT new ru.practicum.shareit.comments.dto.CommentDto(c.id, c.text, a.name, c.created) " +
+            "FROM Comment c " +
+            "JOIN c.authorName a " +
+            "WHERE c.item.id = ?1 " +
+            "ORDER BY c.created DESC")
+    List<CommentDto> findAllByItemIdOrderByCreatedDesc(Long itemId, Pageable pageable);
 
-    List<Comment> findAllByItemIdIn(List<Long> itemsId);
+    @Query(value = "SELECT c.id AS id, c.item_id AS itemId, c.text AS text, " +
+                "u.name AS authorName, c.created AS created " +
+            "FROM (" +
+                "SELECT c2.*, ROW_NUMBER() OVER (PARTITION BY c2.item_id ORDER BY c2.created DESC) AS rn " +
+                "FROM comments c2 " +
+                "WHERE c2.item_id IN (:itemsId)) c " +
+            "JOIN users u ON u.id = c.author_id " +
+            "WHERE c.rn <= :limit " +
+            "ORDER BY c.item_id, c.created DESC", nativeQuery = true)
+    List<CommentItemView> findLastByItemIdIn(@Param("itemsId") List<Long> itemsId,
+                                             @Param("limit") int limit);
+
+    @Query("SELECT DISTINCT c.item.id FROM Comment c WHERE c.authorName.id = ?1")
+    List<Long> findItemIdsByAuthorId(Long authorId);
 }
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaLagMonitor {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    private final ReplicaProperties properties;
+
+    @Scheduled(fixedDelayString = "${shareit.datasource.replicas.check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Map.Entry<String, DataSource> replica : routingDataSource.getReplicas().entrySet()) {
+            if (isUpToDate(replica.getKey(), replica.getValue())) {
+                routingDataSource.markAvailable(replica.getKey());
+            } else {
+                routingDataSource.markUnavailable(replica.getKey());
+            }
+        }
+    }
+
+    private boolean isUpToDate(String name, DataSource dataSource) {
+        String lagQuery = properties.getLagQuery();
+        try (Connection connection = dataSource.getConnection()) {
+            if (lagQuery == null || lagQuery.isBlank())
+                return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                if (lagSeconds * 1000 > properties.getMaxLag().toMillis()) {
+                    log.warn("Реплика {} отстаёт на {} с", name, lagSeconds);
+                    return false;
+                }
+                return true;
+            }
+        } catch (SQLException e) {
+            log.warn("Реплика {} недоступна: {}", name, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.datasource.replicas")
+public class ReplicaProperties {
+    private boolean enabled = false;
+
+    private List<String> urls = new ArrayList<>();
+
+    //Если не заданы, используются значения spring.datasource
+    private String username;
+
+    private String password;
+
+    //Реплика, отстающая сильнее, исключается из чтения до следующей проверки
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    //Запрос, возвращающий отставание реплики в секундах; если пуст, проверяется только доступность
+    private String lagQuery;
+
+    private long checkIntervalMs = 5000;
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Направляет транзакции readOnly = true на доступные реплики по кругу, остальные запросы - на основную БД.
+//Используется через LazyConnectionDataSourceProxy: иначе соединение берётся до того,
+//как признак readOnly транзакции становится известен.
+//Пулы основной БД и реплик создаются вместе с ним и закрываются при закрытии контекста
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+
+    private final Map<String, DataSource> replicas;
+
+    private final CopyOnWriteArrayList<String> availableReplicas = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public List<String> getAvailableReplicas() {
+        return Collections.unmodifiableList(availableReplicas);
+    }
+
+    public void markAvailable(String replica) {
+        if (availableReplicas.addIfAbsent(replica))
+            log.info("Реплика {} включена в чтение", replica);
+    }
+
+    public void markUnavailable(String replica) {
+        if (availableReplicas.remove(replica))
+            log.warn("Реплика {} исключена из чтения, запросы идут в основную БД", replica);
+    }
+
+    @Override
+    public void close() {
+        availableReplicas.clear();
+        for (DataSource replica : replicas.values())
+            closeQuietly(replica);
+        closeQuietly(primary);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+            } catch (Exception e) {
+                log.warn("Не удалось закрыть пул соединений: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+            return PRIMARY;
+        Object[] available = availableReplicas.toArray();
+        if (available.length == 0)
+            return PRIMARY;
+        return available[Math.floorMod(counter.getAndIncrement(), available.length)];
+    }
+}
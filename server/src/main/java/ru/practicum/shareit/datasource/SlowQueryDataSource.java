@@ -0,0 +1,302 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+//Обертка над пулом соединений: замеряет запросы от выполнения до закрытия ResultSet
+//и передает в SlowQueryLog те, что дольше порога, вместе с параметрами и числом строк
+public class SlowQueryDataSource extends DelegatingDataSource {
+    private static final int MAX_PARAMETER_LENGTH = 200;
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final Supplier<SlowQueryLog> slowQueryLog;
+
+    public SlowQueryDataSource(DataSource targetDataSource, Supplier<SlowQueryLog> slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), new Class<?>[]{type},
+                handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    //Прокси сравниваются по ссылке: Hibernate хранит открытые Statement и ResultSet в хеш-таблицах
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1)
+            return proxy == args[0];
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0)
+            return System.identityHashCode(proxy);
+        return null;
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null)
+                return identity;
+            Object result = SlowQueryDataSource.invoke(connection, method, args);
+            if (result instanceof CallableStatement)
+                return proxy(CallableStatement.class, new StatementHandler(connection, (Statement) result,
+                        (String) args[0]));
+            if (result instanceof PreparedStatement)
+                return proxy(PreparedStatement.class, new StatementHandler(connection, (Statement) result,
+                        (String) args[0]));
+            if (result instanceof Statement)
+                return proxy(Statement.class, new StatementHandler(connection, (Statement) result, null));
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Connection connection;
+
+        private final Statement statement;
+
+        private final String sql;
+
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        //Пакет addBatch: в событие попадают запрос и параметры первой строки пакета и его размер
+        private String batchSql;
+
+        private List<Object> batchParameters;
+
+        private int batchSize;
+
+        private Execution execution;
+
+        private StatementHandler(Connection connection, Statement statement, String sql) {
+            this.connection = connection;
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null)
+                return identity;
+            String name = method.getName();
+            if (sql != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                if (batchSize++ == 0) {
+                    batchSql = args != null && args.length > 0 ? (String) args[0] : sql;
+                    batchParameters = new ArrayList<>(parameters.values());
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            } else if (name.equals("close")) {
+                finish();
+            } else if (name.equals("getResultSet")) {
+                Object result = SlowQueryDataSource.invoke(statement, method, args);
+                return result instanceof ResultSet && execution != null ? wrap((ResultSet) result) : result;
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            return SlowQueryDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finish();
+            if (method.getName().endsWith("Batch")) {
+                //executeBatch очищает пакет и при ошибке, поэтому счётчик сбрасывается до выполнения
+                execution = new Execution(batchSql, batchSize == 0 ? List.of() : batchParameters, batchSize);
+                batchSize = 0;
+            } else {
+                String executedSql = args != null && args.length > 0 && args[0] instanceof String
+                        ? (String) args[0] : sql;
+                execution = new Execution(executedSql, new ArrayList<>(parameters.values()), null);
+            }
+            Object result = SlowQueryDataSource.invoke(statement, method, args);
+
+            if (result instanceof ResultSet)
+                return wrap((ResultSet) result);
+            if (result instanceof Boolean) {
+                //execute(): при true строки будут прочитаны через getResultSet
+                if (!(Boolean) result) {
+                    execution.rows = Math.max(statement.getUpdateCount(), 0);
+                    finish();
+                }
+            } else if (result instanceof Number) {
+                execution.rows = ((Number) result).longValue();
+                finish();
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    execution.rows += Math.max(count, 0);
+                }
+                finish();
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    execution.rows += Math.max(count, 0);
+                }
+                finish();
+            }
+            return result;
+        }
+
+        private ResultSet wrap(ResultSet resultSet) {
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object identity = identity(proxy, method, args);
+                if (identity != null)
+                    return identity;
+                Object result = SlowQueryDataSource.invoke(resultSet, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result) && execution != null) {
+                    execution.rows++;
+                } else if (method.getName().equals("close")) {
+                    finish();
+                }
+                return result;
+            });
+        }
+
+        private void finish() {
+            Execution finished = execution;
+            execution = null;
+            if (finished == null)
+                return;
+            long elapsed = System.nanoTime() - finished.startNanos;
+            SlowQueryLog log = slowQueryLog.get();
+            if (elapsed < log.getThresholdNanos())
+                return;
+
+            List<String> parameterValues = new ArrayList<>(finished.parameters.size());
+            for (Object parameter : finished.parameters) {
+                parameterValues.add(format(parameter));
+            }
+            log.add(SlowQueryEvent.builder()
+                    .timestamp(LocalDateTime.now())
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                    .sql(finished.sql)
+                    .parameters(parameterValues)
+                    .batchSize(finished.batchSize)
+                    .rows(finished.rows)
+                    .caller(caller())
+                    .plan(log.isExplain() ? explain(finished) : null)
+                    .build());
+        }
+
+        private String explain(Execution finished) {
+            if (finished.sql == null || !finished.sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                return null;
+            try {
+                //Ошибка внутри транзакции PostgreSQL прерывает всю транзакцию, поэтому EXPLAIN под точкой сохранения
+                Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + finished.sql)) {
+                    for (int i = 0; i < finished.parameters.size(); i++) {
+                        explain.setObject(i + 1, finished.parameters.get(i));
+                    }
+                    StringJoiner plan = new StringJoiner("\n");
+                    try (ResultSet resultSet = explain.executeQuery()) {
+                        while (resultSet.next()) {
+                            plan.add(resultSet.getString(1));
+                        }
+                    }
+                    if (savepoint != null)
+                        connection.releaseSavepoint(savepoint);
+                    return plan.toString();
+                } catch (SQLException e) {
+                    if (savepoint != null)
+                        connection.rollback(savepoint);
+                    return "EXPLAIN не выполнен: " + e.getMessage();
+                }
+            } catch (SQLException e) {
+                return "EXPLAIN не выполнен: " + e.getMessage();
+            }
+        }
+    }
+
+    private static class Execution {
+        private final long startNanos = System.nanoTime();
+
+        private final String sql;
+
+        private final List<Object> parameters;
+
+        private final Integer batchSize;
+
+        private long rows;
+
+        private Execution(String sql, List<Object> parameters, Integer batchSize) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.batchSize = batchSize;
+        }
+    }
+
+    //Ближайший к запросу метод приложения без учета метрик и трассировки, обычно метод сервиса
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("ru.practicum.shareit.")
+                        && !frame.getClassName().startsWith("ru.practicum.shareit.metrics.")
+                        && !frame.getClassName().startsWith("ru.practicum.shareit.tracing.")
+                        && !frame.getClassName().equals(SlowQueryDataSource.class.getName())
+                        && !frame.getClassName().startsWith(SlowQueryDataSource.class.getName() + "$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static String format(Object parameter) {
+        if (parameter instanceof byte[])
+            return "byte[" + ((byte[]) parameter).length + "]";
+        String value = String.valueOf(parameter);
+        return value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Value
+@Builder
+public class SlowQueryEvent {
+    LocalDateTime timestamp;
+
+    long durationMs;
+
+    String sql;
+
+    //Для executeBatch - параметры первой строки пакета
+    List<String> parameters;
+
+    //Число строк пакета executeBatch, для остальных запросов null
+    Integer batchSize;
+
+    //Для SELECT - число прочитанных строк, для изменений - число измененных
+    long rows;
+
+    String caller;
+
+    String plan;
+}
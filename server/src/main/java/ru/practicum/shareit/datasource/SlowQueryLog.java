@@ -0,0 +1,46 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+@Slf4j
+public class SlowQueryLog {
+    private final SlowQueryProperties properties;
+
+    private final Deque<SlowQueryEvent> events;
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.properties = properties;
+        this.events = new ArrayDeque<>(properties.getBufferSize());
+    }
+
+    public long getThresholdNanos() {
+        return properties.getThreshold().toNanos();
+    }
+
+    public boolean isExplain() {
+        return properties.isExplain();
+    }
+
+    public void add(SlowQueryEvent event) {
+        log.warn("Медленный запрос {} мс, строк {}, вызов {}: {} параметры {}{}", event.getDurationMs(),
+                event.getRows(), event.getCaller(), event.getSql(), event.getParameters(),
+                event.getPlan() == null ? "" : "\n" + event.getPlan());
+        synchronized (events) {
+            if (events.size() == properties.getBufferSize())
+                events.removeLast();
+            events.addFirst(event);
+        }
+    }
+
+    //Последние медленные запросы, начиная с самого свежего
+    public List<SlowQueryEvent> getEvents() {
+        synchronized (events) {
+            return new ArrayList<>(events);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.datasource.slow-query")
+public class SlowQueryProperties {
+    private boolean enabled = false;
+
+    //Время от выполнения запроса до закрытия ResultSet, после которого запрос считается медленным
+    private Duration threshold = Duration.ofMillis(200);
+
+    //Выполнять EXPLAIN для медленных SELECT с теми же параметрами
+    private boolean explain = false;
+
+    //Число последних медленных запросов, доступных через /actuator/slowqueries
+    private int bufferSize = 100;
+}
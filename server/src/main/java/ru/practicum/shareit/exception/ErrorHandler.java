@@ -2,7 +2,10 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -11,47 +14,51 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 @Slf4j
 public class ErrorHandler {
+    private static final HttpHeaders JSON_HEADERS;
 
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        JSON_HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    //Ожидаемые ошибки логируются без стека вызовов, стек пишется только для непредвиденных
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleValidationException(ValidationException e) {
-        log.debug("Получен статус 400 Bad request {}", e.getMessage(), e);
-        return new ErrorResponse(e.getMessage());
+    public ResponseEntity<byte[]> handleValidationException(ValidationException e) {
+        log.debug("Получен статус 400 Bad request {}", e.getMessage());
+        return businessError(HttpStatus.BAD_REQUEST, e);
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleConstraintViolationException(ConstraintViolationException e) {
-        log.debug("Получен статус 400 Bad request {}", e.getMessage(), e);
+        log.debug("Получен статус 400 Bad request {}", e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
-        log.debug("Получен статус 400 Bad request {}", e.getMessage(), e);
+        log.debug("Получен статус 400 Bad request {}", e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleIncorrectParameterException(IncorrectParameterException e) {
-        log.debug("Получен статус 400 Conflict {}", e.getMessage(), e);
-        return new ErrorResponse(e.getMessage());
+    public ResponseEntity<byte[]> handleIncorrectParameterException(IncorrectParameterException e) {
+        log.debug("Получен статус 400 Conflict {}", e.getMessage());
+        return businessError(HttpStatus.BAD_REQUEST, e);
     }
 
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ErrorResponse handleObjectNotFoundException(ObjectNotFoundException e) {
-        log.debug("Получен статус 404 Not found {}", e.getMessage(), e);
-        return new ErrorResponse(e.getMessage());
+    public ResponseEntity<byte[]> handleObjectNotFoundException(ObjectNotFoundException e) {
+        log.debug("Получен статус 404 Not found {}", e.getMessage());
+        return businessError(HttpStatus.NOT_FOUND, e);
     }
 
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.CONFLICT)
-    public ErrorResponse handleConflictException(ConflictException e) {
-        log.debug("Получен статус 409 Conflict {}", e.getMessage(), e);
-        return new ErrorResponse(e.getMessage());
+    public ResponseEntity<byte[]> handleConflictException(ConflictException e) {
+        log.debug("Получен статус 409 Conflict {}", e.getMessage());
+        return businessError(HttpStatus.CONFLICT, e);
     }
 
     //Обязательно последний обработчик
@@ -61,4 +68,9 @@ public class ErrorHandler {
         log.debug(e.getMessage(), e);
         return new ErrorResponse(e.getMessage());
     }
+
+    //Ответ собирается из готовых заголовков и шаблона JSON, минуя согласование типов и ObjectMapper
+    private static ResponseEntity<byte[]> businessError(HttpStatus status, BusinessException e) {
+        return new ResponseEntity<>(ErrorResponse.toJson(e.getMessage()), JSON_HEADERS, status);
+    }
 }
\ No newline at end of file
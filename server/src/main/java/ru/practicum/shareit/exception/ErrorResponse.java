@@ -1,6 +1,13 @@
 package ru.practicum.shareit.exception;
 
+import java.nio.charset.StandardCharsets;
+
 public class ErrorResponse {
+    private static final byte[] PREFIX = "{\"error\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL = "{\"error\":null}".getBytes(StandardCharsets.UTF_8);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
     private final String error;
 
     public ErrorResponse(String error) {
@@ -10,4 +17,50 @@ public class ErrorResponse {
     public String getError() {
         return error;
     }
-}
\ No newline at end of file
+
+    //Сериализация в JSON без ObjectMapper: форма ответа фиксирована, меняется только текст ошибки
+    public static byte[] toJson(String error) {
+        if (error == null)
+            return NULL.clone();
+        byte[] message = escape(error).getBytes(StandardCharsets.UTF_8);
+        byte[] json = new byte[PREFIX.length + message.length + SUFFIX.length];
+        System.arraycopy(PREFIX, 0, json, 0, PREFIX.length);
+        System.arraycopy(message, 0, json, PREFIX.length, message.length);
+        System.arraycopy(SUFFIX, 0, json, PREFIX.length + message.length, SUFFIX.length);
+        return json;
+    }
+
+    private static String escape(String value) {
+        StringBuilder builder = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                if (builder != null)
+                    builder.append(c);
+                continue;
+            }
+            if (builder == null)
+                builder = new StringBuilder(value.length() + 16).append(value, 0, i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+        return builder == null ? value : builder.toString();
+    }
+}
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class ObjectNotFoundException extends RuntimeException {
+public class ObjectNotFoundException extends BusinessException {
     public ObjectNotFoundException(String message) {
         super(message);
     }
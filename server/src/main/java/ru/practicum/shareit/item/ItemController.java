@@ -1,12 +1,17 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.comments.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.occupancy.ItemOccupancyDto;
+import ru.practicum.shareit.item.occupancy.ItemOccupancyService;
+import ru.practicum.shareit.item.occupancy.OccupancyUnit;
 import ru.practicum.shareit.item.service.ItemService;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,12 +20,34 @@ import java.util.List;
 public class ItemController {
     private final ItemService itemService;
 
+    private final ItemOccupancyService itemOccupancyService;
+
     @PostMapping
     public ItemDto newItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                            @Valid @RequestBody ItemDto itemDto) {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<ItemDto> newItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                  @RequestBody List<ItemDto> itemDtos) {
+        return itemService.createAll(userId, itemDtos);
+    }
+
+    @GetMapping("/{itemId}/comment")
+    public List<CommentDto> getComments(@PathVariable Long itemId,
+                                        @RequestParam(defaultValue = "0") Integer from,
+                                        @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.getComments(itemId, from, size);
+    }
+
+    @PatchMapping("/batch")
+    public List<ItemDto> updateItemsAvailable(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @RequestParam Boolean available,
+                                              @RequestBody List<Long> itemIds) {
+        return itemService.updateAvailable(userId, itemIds, available);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto newComment(@RequestBody @Valid CommentDto comment,
                                  @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -47,8 +74,24 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItem(@RequestParam(value = "text") String text) {
-        return itemService.search(text);
+    public List<ItemDto> searchItem(@RequestParam(value = "text") String text,
+                                    @RequestParam(required = false)
+                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                    @RequestParam(required = false)
+                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if (start == null && end == null)
+            return itemService.search(text);
+        return itemService.searchAvailable(text, start, end);
+    }
+
+    @GetMapping("/{itemId}/occupancy")
+    public ItemOccupancyDto getOccupancy(@PathVariable Long itemId,
+                                         @RequestParam(required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                         @RequestParam(required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                         @RequestParam(defaultValue = "DAY") OccupancyUnit unit) {
+        return itemOccupancyService.getOccupancy(itemId, from, to, unit);
     }
 
     @DeleteMapping("/{itemId}")
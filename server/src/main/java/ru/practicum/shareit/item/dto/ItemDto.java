@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.dto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.comments.dto.CommentDto;
 
@@ -12,6 +13,7 @@ import java.util.List;
 
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 @Builder
 public class ItemDto {
     private Long id;
@@ -28,5 +30,18 @@ public class ItemDto {
 
     private BookingItemDto nextBooking;
 
+    private Integer commentCount;
+
     private List<CommentDto> comments;
+
+    //Используется в проекциях ItemRepository и BookingRepository
+    public ItemDto(Long id, String name, String description, Boolean available,
+                   Long requestId, Integer commentCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.requestId = requestId;
+        this.commentCount = commentCount;
+    }
 }
@@ -18,6 +18,7 @@ public class ItemMapper {
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
+                .commentCount(item.getCommentCount())
                 .lastBooking(null)
                 .nextBooking(null)
                 .comments(null)
@@ -34,6 +35,7 @@ public class ItemMapper {
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
+                .commentCount(item.getCommentCount())
                 .lastBooking(last)
                 .nextBooking(next)
                 .comments(comments)
@@ -50,6 +52,7 @@ public class ItemMapper {
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
+                .commentCount(item.getCommentCount())
                 .build();
 
 
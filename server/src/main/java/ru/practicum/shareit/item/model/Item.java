@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -10,14 +12,18 @@ import javax.validation.constraints.NotNull;
 
 @Entity
 @Table(name = "items")
+//owner и request в кэше хранятся как id и читаются из регионов users и requests
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Item {
+    //Последовательность вместо IDENTITY, чтобы Hibernate мог объединять вставки в пакеты
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
     @NotBlank
     private String name;
@@ -27,6 +33,11 @@ public class Item {
     @Column(name = "is_available")
     private Boolean available;
 
+    //Изменяется только запросом ItemRepository.incrementCommentCount
+    @Column(name = "comment_count", updatable = false)
+    @Builder.Default
+    private Integer commentCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
     private User owner;
@@ -40,6 +51,7 @@ public class Item {
         this.name = name;
         this.description = description;
         this.available = available;
+        this.commentCount = 0;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.item.occupancy;
+
+import ru.practicum.shareit.booking.dto.BookingItemView;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+//Занятость предмета: объединённые непересекающиеся интервалы подтверждённых бронирований,
+//отсортированные по началу. Время - секунды LocalDateTime без учёта часового пояса
+final class ItemOccupancy {
+    private final long[] starts;
+    private final long[] ends;
+
+    private ItemOccupancy(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    //bookings должны быть отсортированы по началу
+    static ItemOccupancy of(List<BookingItemView> bookings) {
+        long[] starts = new long[bookings.size()];
+        long[] ends = new long[bookings.size()];
+        int size = 0;
+        for (BookingItemView booking : bookings) {
+            long start = seconds(booking.getStart());
+            long end = seconds(booking.getEnd());
+            if (size > 0 && start <= ends[size - 1]) {
+                ends[size - 1] = Math.max(ends[size - 1], end);
+            } else {
+                starts[size] = start;
+                ends[size] = end;
+                size++;
+            }
+        }
+        return new ItemOccupancy(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+    }
+
+    int intervals() {
+        return starts.length;
+    }
+
+    byte[] bitmap(LocalDateTime from, int slots, OccupancyUnit unit) {
+        long windowStart = seconds(from);
+        long step = unit.getSeconds();
+        long windowEnd = windowStart + slots * step;
+        BitSet bits = new BitSet(slots);
+        //Первый интервал, который заканчивается после начала окна
+        int i = Arrays.binarySearch(ends, windowStart + 1);
+        if (i < 0)
+            i = -i - 1;
+        for (; i < starts.length && starts[i] < windowEnd; i++) {
+            long first = Math.max(0, Math.floorDiv(starts[i] - windowStart, step));
+            long last = Math.min(slots, Math.floorDiv(ends[i] - windowStart + step - 1, step));
+            bits.set((int) first, (int) last);
+        }
+        return Arrays.copyOf(bits.toByteArray(), (slots + 7) / 8);
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.occupancy;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+//bitmap сериализуется в base64: бит i (байт i / 8, разряд i % 8 от младшего) - слот [from + i * unit, from + (i + 1) * unit)
+//занят подтверждённым бронированием
+@Data
+@AllArgsConstructor
+@Builder
+public class ItemOccupancyDto {
+    private Long itemId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private OccupancyUnit unit;
+
+    private int slots;
+
+    private byte[] bitmap;
+}
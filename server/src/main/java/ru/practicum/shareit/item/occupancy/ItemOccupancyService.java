@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item.occupancy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.IncorrectParameterException;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.AggregateType;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxSubscriber;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Календарь занятости предмета из кэша интервалов в памяти. Интервалы предмета загружаются одним запросом
+//по индексу (item_id, start_date) и сбрасываются событиями outbox по его бронированиям
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemOccupancyService implements OutboxSubscriber {
+    //Год по часам
+    public static final int MAX_SLOTS = 366 * 24;
+    public static final int DEFAULT_SLOTS = 30;
+
+    private final ItemRepository itemRepository;
+
+    private final BookingRepository bookingRepository;
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, ItemOccupancy> cache = new ConcurrentHashMap<>();
+
+    //Увеличивается при каждом сбросе: загруженные до сброса интервалы в кэш не попадают
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${shareit.item.occupancy.max-items:10000}")
+    private int maxItems;
+
+    @Transactional(readOnly = true)
+    public ItemOccupancyDto getOccupancy(Long itemId, LocalDateTime from, LocalDateTime to, OccupancyUnit unit) {
+        //По умолчанию 30 слотов с начала текущего дня
+        if (from == null)
+            from = LocalDate.now().atStartOfDay();
+        if (to == null)
+            to = from.plusSeconds(DEFAULT_SLOTS * unit.getSeconds());
+        if (!to.isAfter(from))
+            throw new IncorrectParameterException("Конец периода должен быть позже начала");
+        long slots = (Duration.between(from, to).getSeconds() + unit.getSeconds() - 1) / unit.getSeconds();
+        if (slots > MAX_SLOTS)
+            throw new IncorrectParameterException("Период не может быть длиннее " + MAX_SLOTS + " слотов");
+
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ObjectNotFoundException("Предмет с id = " + itemId + " не найден"));
+        ItemOccupancy occupancy = occupancy(itemId, item.getOwner().getId());
+        return ItemOccupancyDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .unit(unit)
+                .slots((int) slots)
+                .bitmap(occupancy.bitmap(from, (int) slots, unit))
+                .build();
+    }
+
+    @Override
+    public void onEvents(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            if (event.getAggregateType() == AggregateType.BOOKING) {
+                evict(readItemId(event));
+            } else if (event.getAggregateType() == AggregateType.ITEM) {
+                evict(event.getAggregateId());
+            }
+        }
+    }
+
+    private ItemOccupancy occupancy(Long itemId, Long ownerId) {
+        //Пока изменения владельца не доставлены, кэш может отставать от таблицы
+        if (outboxEventRepository.existsByOwnerId(ownerId))
+            return load(itemId);
+        ItemOccupancy occupancy = cache.get(itemId);
+        if (occupancy != null)
+            return occupancy;
+        long loadedGeneration = generation.get();
+        occupancy = load(itemId);
+        if (cache.size() >= maxItems) {
+            log.debug("Кэш занятости предметов заполнен ({}), очищается", cache.size());
+            cache.clear();
+        }
+        if (generation.get() == loadedGeneration)
+            cache.putIfAbsent(itemId, occupancy);
+        return occupancy;
+    }
+
+    private ItemOccupancy load(Long itemId) {
+        return ItemOccupancy.of(bookingRepository.getApprovedBookingsByItemId(itemId));
+    }
+
+    private void evict(Long itemId) {
+        generation.incrementAndGet();
+        cache.remove(itemId);
+    }
+
+    private Long readItemId(OutboxEvent event) {
+        try {
+            return objectMapper.readTree(event.getPayload()).get("itemId").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Некорректное событие outbox " + event.getId(), e);
+        }
+    }
+}
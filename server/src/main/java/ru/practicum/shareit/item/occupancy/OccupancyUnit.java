@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.occupancy;
+
+public enum OccupancyUnit {
+    HOUR(3600),
+    DAY(86400);
+
+    private final long seconds;
+
+    OccupancyUnit(long seconds) {
+        this.seconds = seconds;
+    }
+
+    public long getSeconds() {
+        return seconds;
+    }
+}
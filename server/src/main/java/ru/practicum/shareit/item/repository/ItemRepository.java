@@ -1,9 +1,13 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -20,6 +24,27 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             " or upper(it.description) like upper(concat('%', ?1, '%')))")
     List<Item> search(String text);
 
-    List<Item> findAllByRequestId(Long requestId);
+    @Query(" SELECT new ru.practicum.shareit.item.dto.ItemDto(" +
+            "it.id, it.name, it.description, it.available, r.id, it.commentCount) " +
+            "FROM Item it " +
+            "JOIN it.request r " +
+            "WHERE r.id IN ?1 " +
+            "ORDER BY it.id")
+    List<ItemDto> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    @Modifying
+    @Query(" UPDATE Item it " +
+            "SET it.commentCount = it.commentCount + 1 " +
+            "WHERE it.id = :id")
+    int incrementCommentCount(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(" UPDATE Item it " +
+            "SET it.available = :available " +
+            "WHERE it.owner.id = :ownerId " +
+            "AND it.id IN :ids")
+    int updateAvailable(@Param("ownerId") Long ownerId,
+                        @Param("ids") Collection<Long> ids,
+                        @Param("available") Boolean available);
 
 }
\ No newline at end of file
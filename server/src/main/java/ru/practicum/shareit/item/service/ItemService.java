@@ -3,20 +3,29 @@ package ru.practicum.shareit.item.service;
 import ru.practicum.shareit.comments.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemDto create(Long userId, ItemDto itemDto);
 
+    List<ItemDto> createAll(Long userId, List<ItemDto> itemDtos);
+
     ItemDto get(Long itemId, Long userId);
 
     ItemDto update(Long userId, Long itemId, ItemDto itemDto);
 
+    List<ItemDto> updateAvailable(Long userId, List<Long> itemIds, Boolean available);
+
     void delete(Long itemId);
 
     List<ItemDto> search(String text);
 
+    List<ItemDto> searchAvailable(String text, LocalDateTime start, LocalDateTime end);
+
     List<ItemDto> getAllUserItems(Long userId);
 
     CommentDto createComment(CommentDto comment, Long userId, Long itemId);
+
+    List<CommentDto> getComments(Long itemId, Integer from, Integer size);
 }
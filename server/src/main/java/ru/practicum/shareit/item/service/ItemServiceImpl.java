@@ -1,15 +1,19 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingHistoryRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comments.dto.CommentDto;
+import ru.practicum.shareit.comments.dto.CommentItemView;
 import ru.practicum.shareit.comments.dto.CommentMapper;
 import ru.practicum.shareit.comments.model.Comment;
 import ru.practicum.shareit.comments.repository.CommentRepository;
@@ -20,6 +24,11 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.view.OwnerItemViewService;
+import ru.practicum.shareit.metrics.MetricsConfig;
+import ru.practicum.shareit.outbox.EventType;
+import ru.practicum.shareit.outbox.OutboxPublisher;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -30,10 +39,16 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public
 class ItemServiceImpl implements ItemService {
+    //Количество последних комментариев, встраиваемых в ItemDto
+    public static final int LAST_COMMENTS_SIZE = 10;
+    //Размер списка IN при проверке занятости найденных предметов
+    private static final int SEARCH_BATCH_SIZE = 1000;
+
     private final ItemRepository itemRepository;
 
     private final UserRepository userRepository;
@@ -42,18 +57,19 @@ class ItemServiceImpl implements ItemService {
 
     private final BookingRepository bookingRepository;
 
+    private final BookingHistoryRepository bookingHistoryRepository;
+
     private final ItemRequestRepository itemRequestRepository;
 
+    private final OutboxPublisher outboxPublisher;
+
+    private final OwnerItemViewService ownerItemViewService;
+
     @Transactional
     @Override
     public ItemDto create(Long userId, ItemDto itemDto) {
         log.debug("Вызов метода create");
-        if (itemDto.getName() == null || itemDto.getName().equals(""))
-            throw new ValidationException("Отсутствует название предмета");
-        if (itemDto.getDescription() == null || itemDto.getDescription().equals(""))
-            throw new ValidationException("Отсутствует описание предмета");
-        if (itemDto.getAvailable() == null)
-            throw new ValidationException("Отсутствует поле available");
+        checkItemDto(itemDto);
 
         User user = checkUser(userId);
         Item item = ItemMapper.fromItemDto(itemDto);
@@ -65,12 +81,55 @@ class ItemServiceImpl implements ItemService {
                             new ObjectNotFoundException("Запрос с Id = " + itemRequestId + " не найден")));
         }
         item = itemRepository.save(item);
+        outboxPublisher.itemChanged(EventType.CREATED, item);
         log.trace("Создан предмет с id = {}", item.getId());
         return ItemMapper.toItemDto(item);
     }
 
     @Transactional
     @Override
+    public List<ItemDto> createAll(Long userId, List<ItemDto> itemDtos) {
+        if (log.isDebugEnabled())
+            log.debug("Вызов метода createAll с userId = {}, количество предметов = {}", userId, itemDtos.size());
+        if (itemDtos.isEmpty())
+            return new ArrayList<>();
+        itemDtos.forEach(this::checkItemDto);
+
+        //Владелец и запросы загружаются один раз на весь пакет
+        User user = checkUser(userId);
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Collections.emptyMap() :
+                itemRequestRepository.findAllById(requestIds)
+                        .stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        for (Long requestId : requestIds) {
+            if (!requests.containsKey(requestId))
+                throw new ObjectNotFoundException("Запрос с Id = " + requestId + " не найден");
+        }
+
+        List<Item> items = new ArrayList<>(itemDtos.size());
+        for (ItemDto itemDto : itemDtos) {
+            Item item = ItemMapper.fromItemDto(itemDto);
+            item.setOwner(user);
+            if (itemDto.getRequestId() != null)
+                item.setRequest(requests.get(itemDto.getRequestId()));
+            items.add(item);
+        }
+        List<Item> saved = itemRepository.saveAll(items);
+        saved.forEach(item -> outboxPublisher.itemChanged(EventType.CREATED, item));
+        List<ItemDto> result = saved
+                .stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+        log.trace("Завершение вызова метода createAll");
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
     public ItemDto get(Long itemId, Long userId) {
         log.debug("Вызов метода get с itemId = {}, userId = {}", itemId, userId);
         Item item = checkItem(itemId);
@@ -97,15 +156,47 @@ class ItemServiceImpl implements ItemService {
             result.setAvailable(itemDto.getAvailable());
         }
         result = itemRepository.save(result);
+        outboxPublisher.itemChanged(EventType.UPDATED, result);
         log.trace("Завершение вызова метода update");
         return ItemMapper.toItemDto(result);
     }
 
+    @Transactional
+    @Override
+    public List<ItemDto> updateAvailable(Long userId, List<Long> itemIds, Boolean available) {
+        log.debug("Вызов метода updateAvailable с userId = {}, available = {}", userId, available);
+        if (available == null)
+            throw new ValidationException("Отсутствует поле available");
+        checkUser(userId);
+        Set<Long> ids = new HashSet<>(itemIds);
+        if (ids.isEmpty())
+            return new ArrayList<>();
+
+        int updated = itemRepository.updateAvailable(userId, ids, available);
+        if (updated != ids.size())
+            throw new ObjectNotFoundException("Не все предметы найдены у пользователя с id = " + userId);
+
+        List<Item> items = new ArrayList<>(itemRepository.findAllById(ids));
+        items.sort(Comparator.comparing(Item::getId));
+        items.forEach(item -> outboxPublisher.itemChanged(EventType.UPDATED, item));
+        List<ItemDto> result = items
+                .stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+        log.trace("Завершение вызова метода updateAvailable");
+        return result;
+    }
+
     @Transactional
     @Override
     public void delete(Long id) {
         log.debug("Вызов метода delete с id = {}", id);
+        //Владелец нужен событию; deleteById затем возьмёт предмет из контекста без повторного запроса
+        Long ownerId = itemRepository.findById(id)
+                .map(item -> item.getOwner().getId())
+                .orElse(null);
         itemRepository.deleteById(id);
+        outboxPublisher.itemDeleted(id, ownerId);
         log.trace("Завершение вызова метода delete");
     }
 
@@ -114,6 +205,11 @@ class ItemServiceImpl implements ItemService {
     public List<ItemDto> getAllUserItems(Long userId) {
         log.debug("Вызов метода getAllUserItems с userId = {}", userId);
         checkUser(userId);
+        List<ItemDto> view = ownerItemViewService.findOwnerItems(userId);
+        if (view != null) {
+            log.trace("Список предметов владельца взят из представления");
+            return view;
+        }
         List<Item> items = itemRepository.findAllByOwnerId(userId);
         List<ItemDto> result = new ArrayList<>();
         List<Long> itemsId = items
@@ -121,26 +217,31 @@ class ItemServiceImpl implements ItemService {
                 .map(Item::getId)
                 .collect(Collectors.toList());
 
-        Map<Item, List<Comment>> comments = commentRepository.findAllByItemIdIn(itemsId)
-                .stream()
-                .collect(Collectors.groupingBy(Comment::getItem));
+        Map<Long, List<CommentDto>> comments = itemsId.isEmpty() ? Collections.emptyMap() :
+                commentRepository.findLastByItemIdIn(itemsId, LAST_COMMENTS_SIZE)
+                        .stream()
+                        .collect(Collectors.groupingBy(CommentItemView::getItemId,
+                                Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
 
-        Map<Item, Booking> lastBookings = bookingRepository
+        //Ключ - id предмета: он берётся из внешнего ключа бронирования и не требует загрузки предмета
+        Map<Long, BookingItemDto> lastBookings = bookingRepository
                 .getLastBookings(userId, LocalDateTime.now())
                 .stream()
-                .collect(Collectors.toMap(Booking::getItem, Function.identity()));
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(),
+                        booking -> BookingMapper.toBookingItemDto(booking)));
+        addArchivedLastBookings(lastBookings, itemsId);
 
-        Map<Item, Booking> nextBookings = bookingRepository
+        Map<Long, Booking> nextBookings = bookingRepository
                 .getNextBookings(userId, LocalDateTime.now())
                 .stream()
-                .collect(Collectors.toMap(Booking::getItem, Function.identity()));
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity()));
 
         for (Item item : items) {
-            ItemDto itemFullDto = ItemMapper.toItemDtoAllRegularComments(
+            ItemDto itemFullDto = ItemMapper.toItemDtoAll(
                     item,
-                    BookingMapper.toBookingItemDto(lastBookings.get(item)),
-                    BookingMapper.toBookingItemDto(nextBookings.get(item)),
-                    comments.get(item)
+                    lastBookings.get(item.getId()),
+                    BookingMapper.toBookingItemDto(nextBookings.get(item.getId())),
+                    comments.get(item.getId())
             );
             result.add(itemFullDto);
         }
@@ -166,13 +267,34 @@ class ItemServiceImpl implements ItemService {
         }
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemDto> searchAvailable(String text, LocalDateTime start, LocalDateTime end) {
+        log.debug("Вызов метода searchAvailable с start = {}, end = {}", start, end);
+        if (start == null || end == null || !end.isAfter(start))
+            throw new IncorrectParameterException("Некорректный период поиска");
+        List<ItemDto> found = search(text);
+        //Найденные по тексту предметы минус занятые в периоде: один запрос на пачку, а не на каждый предмет
+        List<Long> ids = found.stream().map(ItemDto::getId).collect(Collectors.toList());
+        Set<Long> booked = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += SEARCH_BATCH_SIZE) {
+            booked.addAll(bookingRepository.findBookedItemIds(ids.subList(from, Math.min(from + SEARCH_BATCH_SIZE,
+                    ids.size())), BookingStatus.APPROVED, start, end));
+        }
+        List<ItemDto> result = found.stream()
+                .filter(item -> !booked.contains(item.getId()))
+                .collect(Collectors.toList());
+        log.trace("Завершение вызова метода searchAvailable");
+        return result;
+    }
+
     @Transactional
     @Override
     public CommentDto createComment(CommentDto commentDto, Long userId, Long itemId) {
         log.debug("Вызов метода createComment с itemId = {}, userId = {}", itemId, userId);
         User user = checkUser(userId);
         Item item = checkItem(itemId);
-        if (!bookingRepository.existsByItemIdAndBookerIdAndStatusAndEndBefore(
+        if (!bookingHistoryRepository.existsByItemIdAndBookerIdAndStatusAndEndBefore(
                 itemId, userId, BookingStatus.APPROVED, LocalDateTime.now()))
             throw new ValidationException("Невозможно оставить комментарий");
 
@@ -180,31 +302,74 @@ class ItemServiceImpl implements ItemService {
             throw new IncorrectParameterException("Отсутствует входной текст");
         Comment comment = CommentMapper.fromCommentDto(commentDto, item, user);
         comment = commentRepository.save(comment);
+        itemRepository.incrementCommentCount(itemId);
+        outboxPublisher.commentCreated(comment);
         log.trace("Завершение вызова метода createComment");
         return CommentMapper.toCommentDto(comment);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<CommentDto> getComments(Long itemId, Integer from, Integer size) {
+        if (log.isDebugEnabled())
+            log.debug("Вызов метода getComments с itemId = {}, from = {}, size = {}", itemId, from, size);
+        if (from < 0 || size <= 0 || from % size != 0)
+            throw new ValidationException("Некорректный ввод страниц и размеров");
+        if (!itemRepository.existsById(itemId))
+            throw new ObjectNotFoundException("Предмет с id = " + itemId + " не найден");
+
+        List<CommentDto> result = commentRepository
+                .findAllByItemIdOrderByCreatedDesc(itemId, PageRequest.of(from / size, size));
+        log.trace("Завершение вызова метода getComments");
+        return result;
+    }
+
     private ItemDto addBookingAndComment(Item item, Long userId) {
         log.trace("Вызов метода addBookingAndComment с itemId = {}, userId = {}", item.getId(), userId);
-        Booking lastBooking = null;
-        Booking nextBooking = null;
+        BookingItemDto last = null;
+        BookingItemDto next = null;
 
         if (userId.equals(item.getOwner().getId())) {
-            lastBooking = bookingRepository.getLastBooking(item.getId());
-            if (lastBooking == null || lastBooking.getBooker().getId().equals(item.getOwner().getId())) {
-                lastBooking = null;
+            Map<Long, BookingItemDto> lastBookings = new HashMap<>();
+            Booking lastBooking = bookingRepository.getLastBooking(item.getId());
+            if (lastBooking != null)
+                lastBookings.put(item.getId(), BookingMapper.toBookingItemDto(lastBooking));
+            addArchivedLastBookings(lastBookings, List.of(item.getId()));
+            last = lastBookings.get(item.getId());
+            if (last == null || last.getBookerId().equals(item.getOwner().getId())) {
+                last = null;
             } else {
-                nextBooking = bookingRepository.getNextBooking(item.getId(), lastBooking.getEnd());
+                next = BookingMapper.toBookingItemDto(bookingRepository.getNextBooking(item.getId(), last.getEnd()));
             }
         }
-        List<CommentDto> comments = CommentMapper.fromListComment(commentRepository.findAllByItemId(item.getId()));
-
-        BookingItemDto last = (lastBooking == null ? null : BookingMapper.toBookingItemDto(lastBooking));
-        BookingItemDto next = (nextBooking == null ? null : BookingMapper.toBookingItemDto(nextBooking));
+        List<CommentDto> comments = commentRepository
+                .findAllByItemIdOrderByCreatedDesc(item.getId(), PageRequest.of(0, LAST_COMMENTS_SIZE));
 
         return ItemMapper.toItemDtoAll(item, last, next, comments);
     }
 
+    //Завершённые бронирования старше срока хранения перенесены в архив: если у предмета в bookings прошедших
+    //не осталось, последнее бронирование берётся оттуда
+    private void addArchivedLastBookings(Map<Long, BookingItemDto> lastBookings, Collection<Long> itemIds) {
+        List<Long> missing = itemIds.stream()
+                .filter(itemId -> !lastBookings.containsKey(itemId))
+                .collect(Collectors.toList());
+        if (missing.isEmpty())
+            return;
+        bookingHistoryRepository.getLastArchivedBookingsByItemIdIn(missing)
+                .forEach(booking -> lastBookings.putIfAbsent(booking.getItemId(),
+                        BookingMapper.toBookingItemDto(booking)));
+    }
+
+    private void checkItemDto(ItemDto itemDto) {
+        if (itemDto.getName() == null || itemDto.getName().equals(""))
+            throw new ValidationException("Отсутствует название предмета");
+        if (itemDto.getDescription() == null || itemDto.getDescription().equals(""))
+            throw new ValidationException("Отсутствует описание предмета");
+        if (itemDto.getAvailable() == null)
+            throw new ValidationException("Отсутствует поле available");
+    }
+
     public User checkUser(Long userId) {
         log.trace("Вызов метода checkUser с userId = {}", userId);
         Optional<User> user = userRepository.findById(userId);
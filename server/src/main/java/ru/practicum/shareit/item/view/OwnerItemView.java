@@ -0,0 +1,64 @@
+package ru.practicum.shareit.item.view;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+//Предмет в том виде, в каком его отдаёт GET /items владельцу: с последним и следующим бронированием
+//и последними комментариями. Строится из событий outbox, ключ - id предмета
+@Entity
+@Table(name = "owner_item_views")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OwnerItemView {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    private String name;
+
+    private String description;
+
+    private Boolean available;
+
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Column(name = "comment_count")
+    private Integer commentCount;
+
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+
+    @Column(name = "last_start")
+    private LocalDateTime lastStart;
+
+    @Column(name = "last_end")
+    private LocalDateTime lastEnd;
+
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+
+    //Когда наступит, последнее и следующее бронирование сменятся и строку нужно пересчитать
+    @Column(name = "next_start")
+    private LocalDateTime nextStart;
+
+    @Column(name = "next_end")
+    private LocalDateTime nextEnd;
+
+    //Последние ItemServiceImpl.LAST_COMMENTS_SIZE комментариев в JSON
+    private String comments;
+}
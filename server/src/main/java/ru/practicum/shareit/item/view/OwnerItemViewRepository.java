@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.view;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OwnerItemViewRepository extends JpaRepository<OwnerItemView, Long> {
+    List<OwnerItemView> findAllByOwnerIdOrderByItemId(Long ownerId);
+
+    @Query("SELECT v.itemId FROM OwnerItemView v WHERE v.nextStart <= ?1 ORDER BY v.nextStart")
+    List<Long> findItemIdsByNextStartNotAfter(LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i " +
+            "WHERE i.id > ?1 " +
+            "AND NOT EXISTS (SELECT v FROM OwnerItemView v WHERE v.itemId = i.id) " +
+            "ORDER BY i.id")
+    List<Long> findItemIdsWithoutView(Long afterId, Pageable pageable);
+}
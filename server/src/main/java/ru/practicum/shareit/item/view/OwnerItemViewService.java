@@ -0,0 +1,252 @@
+package ru.practicum.shareit.item.view;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingItemView;
+import ru.practicum.shareit.booking.repository.BookingHistoryRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comments.dto.CommentDto;
+import ru.practicum.shareit.comments.dto.CommentItemView;
+import ru.practicum.shareit.comments.dto.CommentMapper;
+import ru.practicum.shareit.comments.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxSubscriber;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//Читающая модель списка предметов владельца. Обновляется ретранслятором outbox,
+//чтение идёт из неё, только если все изменения владельца уже доставлены и ни одна строка не устарела
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OwnerItemViewService implements OutboxSubscriber {
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final TypeReference<List<CommentDto>> COMMENTS_TYPE = new TypeReference<>() {
+    };
+
+    private final OwnerItemViewRepository ownerItemViewRepository;
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final BookingRepository bookingRepository;
+
+    private final BookingHistoryRepository bookingHistoryRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${shareit.item.owner-view.enabled:true}")
+    private boolean enabled;
+
+    //Строки для всех предметов созданы, читать из представления можно
+    private volatile boolean ready;
+
+    //Возвращает null, если представление не готово или отстаёт; тогда список собирается из таблиц
+    @Transactional(readOnly = true)
+    public List<ItemDto> findOwnerItems(Long ownerId) {
+        if (!enabled || !ready || outboxEventRepository.existsByOwnerId(ownerId))
+            return null;
+        List<OwnerItemView> views = ownerItemViewRepository.findAllByOwnerIdOrderByItemId(ownerId);
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemDto> result = new ArrayList<>(views.size());
+        for (OwnerItemView view : views) {
+            if (view.getNextStart() != null && !view.getNextStart().isAfter(now))
+                return null;
+            result.add(toItemDto(view));
+        }
+        return result;
+    }
+
+    @Transactional
+    @Override
+    public void onEvents(List<OutboxEvent> events) {
+        Set<Long> itemIds = new LinkedHashSet<>();
+        for (OutboxEvent event : events) {
+            switch (event.getAggregateType()) {
+                case ITEM:
+                    itemIds.add(event.getAggregateId());
+                    break;
+                case BOOKING:
+                case COMMENT:
+                    itemIds.add(readPayload(event).get("itemId").asLong());
+                    break;
+                case USER:
+                    itemIds.addAll(commentRepository.findItemIdsByAuthorId(event.getAggregateId()));
+                    break;
+                default:
+                    break;
+            }
+        }
+        rebuild(itemIds);
+    }
+
+    @Transactional
+    public void rebuild(Collection<Long> itemIds) {
+        List<Long> ids = new ArrayList<>(itemIds);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+            rebuildBatch(ids.subList(from, Math.min(from + REBUILD_BATCH_SIZE, ids.size())), now);
+        }
+    }
+
+    //Строки, у которых наступило начало следующего бронирования
+    @Scheduled(initialDelayString = "${shareit.item.owner-view.refresh-interval-ms:60000}",
+            fixedDelayString = "${shareit.item.owner-view.refresh-interval-ms:60000}")
+    @Transactional
+    public void refreshStale() {
+        List<Long> ids = ownerItemViewRepository.findItemIdsByNextStartNotAfter(
+                LocalDateTime.now(), PageRequest.of(0, REBUILD_BATCH_SIZE));
+        if (!ids.isEmpty()) {
+            rebuild(ids);
+            log.debug("Пересчитано строк представления предметов: {}", ids.size());
+        }
+    }
+
+    //Создаёт строки для предметов, появившихся до представления или записанных в обход сервисов
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0;
+        List<Long> ids;
+        while (!(ids = ownerItemViewRepository.findItemIdsWithoutView(
+                afterId, PageRequest.of(0, REBUILD_BATCH_SIZE))).isEmpty()) {
+            rebuildBatch(ids, now);
+            afterId = ids.get(ids.size() - 1);
+        }
+        ready = true;
+        log.info("Представление предметов владельцев готово");
+    }
+
+    private void rebuildBatch(List<Long> ids, LocalDateTime now) {
+        Map<Long, OwnerItemView> views = ownerItemViewRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(OwnerItemView::getItemId, Function.identity()));
+        Map<Long, BookingItemView> lastBookings = bookingRepository.getLastBookingsByItemIdIn(ids, now)
+                .stream()
+                .collect(Collectors.toMap(BookingItemView::getItemId, Function.identity(), (a, b) -> a));
+        //Прошедшие бронирования старше срока хранения лежат только в архиве
+        List<Long> withoutLastBooking = ids.stream()
+                .filter(id -> !lastBookings.containsKey(id))
+                .collect(Collectors.toList());
+        if (!withoutLastBooking.isEmpty())
+            bookingHistoryRepository.getLastArchivedBookingsByItemIdIn(withoutLastBooking)
+                    .forEach(booking -> lastBookings.putIfAbsent(booking.getItemId(), booking));
+        Map<Long, BookingItemView> nextBookings = bookingRepository.getNextBookingsByItemIdIn(ids, now)
+                .stream()
+                .collect(Collectors.toMap(BookingItemView::getItemId, Function.identity(), (a, b) -> a));
+        Map<Long, List<CommentDto>> comments = commentRepository
+                .findLastByItemIdIn(ids, ItemServiceImpl.LAST_COMMENTS_SIZE)
+                .stream()
+                .collect(Collectors.groupingBy(CommentItemView::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+
+        Set<Long> deleted = new HashSet<>(views.keySet());
+        for (Item item : itemRepository.findAllById(ids)) {
+            deleted.remove(item.getId());
+            OwnerItemView view = views.getOrDefault(item.getId(), new OwnerItemView());
+            view.setItemId(item.getId());
+            view.setOwnerId(item.getOwner().getId());
+            view.setName(item.getName());
+            view.setDescription(item.getDescription());
+            view.setAvailable(item.getAvailable());
+            view.setRequestId(item.getRequest() == null ? null : item.getRequest().getId());
+            view.setCommentCount(item.getCommentCount());
+            setLastBooking(view, lastBookings.get(item.getId()));
+            setNextBooking(view, nextBookings.get(item.getId()));
+            view.setComments(writeComments(comments.get(item.getId())));
+            ownerItemViewRepository.save(view);
+        }
+        if (!deleted.isEmpty())
+            ownerItemViewRepository.deleteAllByIdInBatch(deleted);
+    }
+
+    private static void setLastBooking(OwnerItemView view, BookingItemView booking) {
+        view.setLastBookingId(booking == null ? null : booking.getId());
+        view.setLastBookerId(booking == null ? null : booking.getBookerId());
+        view.setLastStart(booking == null ? null : booking.getStart());
+        view.setLastEnd(booking == null ? null : booking.getEnd());
+    }
+
+    private static void setNextBooking(OwnerItemView view, BookingItemView booking) {
+        view.setNextBookingId(booking == null ? null : booking.getId());
+        view.setNextBookerId(booking == null ? null : booking.getBookerId());
+        view.setNextStart(booking == null ? null : booking.getStart());
+        view.setNextEnd(booking == null ? null : booking.getEnd());
+    }
+
+    private ItemDto toItemDto(OwnerItemView view) {
+        return ItemDto.builder()
+                .id(view.getItemId())
+                .name(view.getName())
+                .description(view.getDescription())
+                .available(view.getAvailable())
+                .requestId(view.getRequestId())
+                .commentCount(view.getCommentCount())
+                .lastBooking(view.getLastBookingId() == null ? null : BookingItemDto.builder()
+                        .id(view.getLastBookingId())
+                        .bookerId(view.getLastBookerId())
+                        .start(view.getLastStart())
+                        .end(view.getLastEnd())
+                        .build())
+                .nextBooking(view.getNextBookingId() == null ? null : BookingItemDto.builder()
+                        .id(view.getNextBookingId())
+                        .bookerId(view.getNextBookerId())
+                        .start(view.getNextStart())
+                        .end(view.getNextEnd())
+                        .build())
+                .comments(readComments(view.getComments()))
+                .build();
+    }
+
+    private String writeComments(List<CommentDto> comments) {
+        if (comments == null)
+            return null;
+        try {
+            return objectMapper.writeValueAsString(comments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать комментарии", e);
+        }
+    }
+
+    private List<CommentDto> readComments(String comments) {
+        if (comments == null)
+            return null;
+        try {
+            return objectMapper.readValue(comments, COMMENTS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось прочитать комментарии", e);
+        }
+    }
+
+    private JsonNode readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Некорректное событие outbox " + event.getId(), e);
+        }
+    }
+}
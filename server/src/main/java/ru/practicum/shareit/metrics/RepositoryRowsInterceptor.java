@@ -0,0 +1,64 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+public class RepositoryRowsInterceptor implements MethodInterceptor {
+    private final MeterRegistry meterRegistry;
+
+    private final String repository;
+
+    private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public RepositoryRowsInterceptor(MeterRegistry meterRegistry, Class<?> repositoryInterface) {
+        this.meterRegistry = meterRegistry;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        Long rows = rows(result, invocation.getMethod().getReturnType());
+        if (rows != null)
+            summaries.computeIfAbsent(invocation.getMethod(), this::summary).record(rows);
+        return result;
+    }
+
+    private DistributionSummary summary(Method method) {
+        return DistributionSummary.builder(MetricsConfig.REPOSITORY_ROWS)
+                .tag("repository", repository)
+                .tag("method", method.getName())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    //Для count и exists число строк не считается: они всегда возвращают одно значение,
+    //для Stream оно неизвестно до конца чтения
+    private static Long rows(Object result, Class<?> returnType) {
+        if (result instanceof Stream)
+            return null;
+        if (result instanceof Collection)
+            return (long) ((Collection<?>) result).size();
+        if (result instanceof Slice)
+            return (long) ((Slice<?>) result).getNumberOfElements();
+        if (result instanceof Optional)
+            return ((Optional<?>) result).isPresent() ? 1L : 0L;
+        if (returnType == int.class || returnType == Integer.class)
+            return result == null ? 0L : ((Integer) result).longValue();
+        if (returnType == void.class || returnType == boolean.class || returnType == long.class
+                || returnType == Boolean.class || returnType == Long.class)
+            return null;
+        return result == null ? 0L : 1L;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.stream.Collectors;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxPublisher outboxPublisher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        return new OutboxPublisher(outboxEventRepository, objectMapper);
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxEventRepository outboxEventRepository,
+                                   ObjectProvider<OutboxSubscriber> subscribers,
+                                   MeterRegistry meterRegistry) {
+        return new OutboxRelay(outboxEventRepository,
+                subscribers.orderedStream().collect(Collectors.toList()),
+                meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit.outbox", name = "relay-enabled", havingValue = "true",
+            matchIfMissing = true)
+    public OutboxRelayScheduler outboxRelayScheduler(OutboxRelay outboxRelay, OutboxProperties properties) {
+        return new OutboxRelayScheduler(outboxRelay, properties);
+    }
+}
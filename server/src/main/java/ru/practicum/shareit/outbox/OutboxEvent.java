@@ -0,0 +1,44 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.*;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type")
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private AggregateType aggregateType;
+
+    @Column(name = "aggregate_id")
+    @NotNull
+    private Long aggregateId;
+
+    //Владелец затронутых предметов; по нему чтение определяет, учтены ли изменения в представлениях
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "event_type")
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private EventType eventType;
+
+    //Состояние агрегата после изменения в JSON
+    private String payload;
+
+    @NotNull
+    private LocalDateTime created;
+}
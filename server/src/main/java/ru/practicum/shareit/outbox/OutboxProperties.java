@@ -0,0 +1,17 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.outbox")
+public class OutboxProperties {
+    //Ретранслятор в фоне; события записываются в таблицу outbox_events независимо от этого флага
+    private boolean relayEnabled = true;
+
+    private int batchSize = 100;
+
+    private long pollIntervalMs = 1000;
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.comments.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Записывает событие в outbox_events в транзакции изменяющего метода сервиса
+@RequiredArgsConstructor
+public class OutboxPublisher {
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemChanged(EventType eventType, Item item) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("ownerId", item.getOwner().getId());
+        payload.put("available", item.getAvailable());
+        payload.put("requestId", item.getRequest() == null ? null : item.getRequest().getId());
+        publish(AggregateType.ITEM, item.getId(), item.getOwner().getId(), eventType, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemDeleted(Long itemId, Long ownerId) {
+        publish(AggregateType.ITEM, itemId, ownerId, EventType.DELETED, null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingChanged(EventType eventType, Booking booking) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("itemId", booking.getItem().getId());
+        payload.put("ownerId", booking.getItem().getOwner().getId());
+        payload.put("bookerId", booking.getBooker().getId());
+        payload.put("status", booking.getStatus());
+        payload.put("start", booking.getStart());
+        payload.put("end", booking.getEnd());
+        publish(AggregateType.BOOKING, booking.getId(), booking.getItem().getOwner().getId(), eventType, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void commentCreated(Comment comment) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("itemId", comment.getItem().getId());
+        payload.put("authorId", comment.getAuthorName().getId());
+        publish(AggregateType.COMMENT, comment.getId(), comment.getItem().getOwner().getId(),
+                EventType.CREATED, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userUpdated(User user) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("name", user.getName());
+        publish(AggregateType.USER, user.getId(), null, EventType.UPDATED, payload);
+    }
+
+    private void publish(AggregateType aggregateType, Long aggregateId, Long ownerId, EventType eventType,
+                         Map<String, Object> payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .ownerId(ownerId)
+                .eventType(eventType)
+                .payload(toJson(payload))
+                .created(LocalDateTime.now())
+                .build());
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        if (payload == null)
+            return null;
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать событие", e);
+        }
+    }
+}
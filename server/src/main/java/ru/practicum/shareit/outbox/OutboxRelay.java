@@ -0,0 +1,47 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+//Передаёт подписчикам самые ранние события и удаляет их в той же транзакции:
+//если подписчик упал, транзакция откатывается и пачка будет доставлена повторно
+@Slf4j
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final List<OutboxSubscriber> subscribers;
+
+    private final Counter relayedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxSubscriber> subscribers,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers;
+        this.relayedCounter = Counter.builder("shareit.outbox.relayed")
+                .description("События outbox, доставленные подписчикам")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    public int relay(int limit) {
+        List<OutboxEvent> events = outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, limit));
+        if (events.isEmpty())
+            return 0;
+        for (OutboxSubscriber subscriber : subscribers) {
+            subscriber.onEvents(events);
+        }
+        outboxEventRepository.deleteAllByIdInBatch(events.stream()
+                .map(OutboxEvent::getId)
+                .collect(Collectors.toList()));
+        relayedCounter.increment(events.size());
+        log.trace("Доставлено событий outbox: {}", events.size());
+        return events.size();
+    }
+}
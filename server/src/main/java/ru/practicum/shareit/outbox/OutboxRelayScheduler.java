@@ -0,0 +1,27 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+//Единственный поток ретрансляции сохраняет порядок событий; пачки разбираются, пока очередь не опустеет
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxRelayScheduler {
+    private final OutboxRelay outboxRelay;
+
+    private final OutboxProperties properties;
+
+    @Scheduled(initialDelayString = "${shareit.outbox.poll-interval-ms:1000}",
+            fixedDelayString = "${shareit.outbox.poll-interval-ms:1000}")
+    public void relayEvents() {
+        int batchSize = properties.getBatchSize();
+        try {
+            while (outboxRelay.relay(batchSize) == batchSize) {
+                log.trace("Очередь outbox не пуста, разбор следующей пачки");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Доставка событий outbox прервана, будет повторена: {}", e.getMessage());
+        }
+    }
+}
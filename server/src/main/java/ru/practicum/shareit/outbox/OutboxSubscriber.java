@@ -0,0 +1,9 @@
+package ru.practicum.shareit.outbox;
+
+import java.util.List;
+
+//Подписчик получает события пачками в порядке записи, в транзакции ретранслятора.
+//Доставка не менее одного раза: при ошибке пачка повторяется целиком, обработка должна быть идемпотентной
+public interface OutboxSubscriber {
+    void onEvents(List<OutboxEvent> events);
+}
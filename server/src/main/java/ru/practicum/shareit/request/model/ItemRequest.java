@@ -1,6 +1,9 @@
 package ru.practicum.shareit.request.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -9,6 +12,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "requests")
+//Запросы после создания не изменяются
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "requests")
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
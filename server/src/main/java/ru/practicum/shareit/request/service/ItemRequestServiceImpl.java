@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -11,9 +12,8 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.IncorrectParameterException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.MetricsConfig;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
@@ -27,10 +27,12 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class ItemRequestServiceImpl implements ItemRequestService {
@@ -98,10 +100,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(
                 () -> new ObjectNotFoundException("Запрос на предмет с Id = " + requestId + " не найден."));
-        List<ItemDto> itemsForRequestDto = itemRepository.findAllByRequestId(requestId)
-                        .stream()
-                        .map(ItemMapper::toItemDto)
-                        .collect(Collectors.toList());
+        List<ItemDto> itemsForRequestDto = itemRepository.findAllByRequestIdIn(List.of(requestId));
 
         ItemRequestFullDto result = ItemRequestMapper.toItemRequestWithItemsDto(itemRequest, itemsForRequestDto);
         log.trace("Завершение вызова метода getById");
@@ -118,12 +117,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private List<ItemRequestFullDto> toItemRequestFullDtoResponse(List<ItemRequest> itemRequests) {
         log.trace("Вызов метода toItemRequestFullDtoResponse");
-        return itemRequests.isEmpty() ? Collections.emptyList() : itemRequests.stream()
-                .map(itemRequest -> {
-                    List<Item> items = itemRepository.findAllByRequestId(itemRequest.getId());
-                    List<ItemDto> itemsDto = items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
-                    return ItemRequestMapper.toItemRequestWithItemsDto(itemRequest, itemsDto);
-                })
+        if (itemRequests.isEmpty())
+            return Collections.emptyList();
+        //Предметы для всех запросов страницы загружаются одним запросом
+        Map<Long, List<ItemDto>> items = itemRepository.findAllByRequestIdIn(itemRequests.stream()
+                        .map(ItemRequest::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        return itemRequests.stream()
+                .map(itemRequest -> ItemRequestMapper.toItemRequestWithItemsDto(itemRequest,
+                        items.getOrDefault(itemRequest.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.startup;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Configuration
+public class StartupConfig {
+
+    //При spring.main.lazy-initialization=true сразу создаются только фоновые задачи, которые иначе не запустятся,
+    //и EntityManagerFactory: схема БД и ошибки подключения должны проявиться при старте, а не на первом запросе
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBeans() {
+        return (beanName, beanDefinition, beanType) -> EntityManagerFactory.class.isAssignableFrom(beanType)
+                || hasScheduledMethods(beanType);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit.startup", name = "report", havingValue = "true")
+    public StartupReport startupReport(ObjectProvider<BufferingApplicationStartup> applicationStartup) {
+        return new StartupReport(applicationStartup);
+    }
+
+    //Пробный запуск сборки с профилем appcds: приложение завершается сразу после старта, JVM сохраняет архив классов
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit.startup", name = "exit-on-ready", havingValue = "true")
+    public ExitOnReady exitOnReady() {
+        return new ExitOnReady();
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        AtomicBoolean scheduled = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType,
+                method -> scheduled.set(true),
+                method -> !scheduled.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+        return scheduled.get();
+    }
+}
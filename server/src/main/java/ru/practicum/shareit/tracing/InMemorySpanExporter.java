@@ -0,0 +1,54 @@
+package ru.practicum.shareit.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+//Хранит последние трассы в памяти; спаны копятся, пока не завершится первый спан трассы в процессе
+public class InMemorySpanExporter {
+    private final int bufferSize;
+
+    private final Map<String, List<Span>> openTraces = new ConcurrentHashMap<>();
+
+    private final Deque<TraceRecord> traces;
+
+    public InMemorySpanExporter(int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.traces = new ArrayDeque<>(bufferSize);
+    }
+
+    public void export(Span span) {
+        if (!span.isLocalRoot()) {
+            openTraces.computeIfAbsent(span.getTraceId(), traceId -> new ArrayList<>()).add(span);
+            return;
+        }
+        List<Span> spans = new ArrayList<>();
+        spans.add(span);
+        List<Span> children = openTraces.remove(span.getTraceId());
+        if (children != null)
+            spans.addAll(children);
+        spans.sort(Comparator.comparing(Span::getStartNanos));
+
+        TraceRecord trace = new TraceRecord(span.getTraceId(), span.getName(), span.getStart(),
+                span.getDurationMicros(), spans);
+        synchronized (traces) {
+            if (traces.size() == bufferSize)
+                traces.removeLast();
+            traces.addFirst(trace);
+        }
+    }
+
+    public List<TraceRecord> getSlowest(int limit) {
+        synchronized (traces) {
+            return traces.stream()
+                    .sorted(Comparator.comparingLong(TraceRecord::getDurationMicros).reversed())
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+public class RepositoryTracingInterceptor implements MethodInterceptor {
+    private final Tracer tracer;
+
+    private final String repository;
+
+    public RepositoryTracingInterceptor(Tracer tracer, Class<?> repositoryInterface) {
+        this.tracer = tracer;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        //Вне запроса (фоновые задачи) спаны не пишем, иначе каждый вызов репозитория становится отдельной трассой
+        if (tracer.current() == null)
+            return invocation.proceed();
+        Span span = tracer.start(repository + "." + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.tag("error", e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            tracer.finish(span);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+public class Span {
+    private final String traceId;
+
+    private final String spanId;
+
+    private final String parentId;
+
+    private String name;
+
+    private final Instant start = Instant.now();
+
+    @JsonIgnore
+    private final long startNanos = System.nanoTime();
+
+    private long durationMicros;
+
+    private final Map<String, String> tags = new LinkedHashMap<>();
+
+    //Родитель в этом же процессе; у первого спана процесса отсутствует, даже если parentId пришел из заголовка
+    @JsonIgnore
+    private final Span localParent;
+
+    Span(String traceId, String spanId, String parentId, String name, Span localParent) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.name = name;
+        this.localParent = localParent;
+    }
+
+    public Span tag(String key, Object value) {
+        tags.put(key, String.valueOf(value));
+        return this;
+    }
+
+    void rename(String name) {
+        this.name = name;
+    }
+
+    void finish() {
+        durationMicros = (System.nanoTime() - startNanos) / 1000;
+    }
+
+    @JsonIgnore
+    public boolean isLocalRoot() {
+        return localParent == null;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+//Все спаны одной трассы, завершенные в этом процессе
+@Value
+public class TraceRecord {
+    String traceId;
+
+    String name;
+
+    Instant start;
+
+    long durationMicros;
+
+    List<Span> spans;
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+//Трассировка в формате W3C Trace Context: traceparent = 00-<trace id>-<span id>-01
+@RequiredArgsConstructor
+public class Tracer {
+    public static final String TRACEPARENT = "traceparent";
+
+    public static final String MDC_TRACE_ID = "traceId";
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+
+    private final InMemorySpanExporter exporter;
+
+    //Первый спан запроса: продолжает трассу из заголовка traceparent или начинает новую
+    public Span startRoot(String name, String traceparent) {
+        String[] parts = traceparent == null ? new String[0] : traceparent.split("-");
+        if (parts.length == 4 && parts[1].length() == 32 && parts[2].length() == 16)
+            return open(new Span(parts[1], newId(16), parts[2], name, null));
+        return open(new Span(newId(32), newId(16), null, name, null));
+    }
+
+    //Дочерний спан текущего; вне запроса начинает новую трассу
+    public Span start(String name) {
+        Span parent = current.get();
+        if (parent == null)
+            return startRoot(name, null);
+        return open(new Span(parent.getTraceId(), newId(16), parent.getSpanId(), name, parent));
+    }
+
+    public void finish(Span span) {
+        span.finish();
+        if (span.isLocalRoot()) {
+            current.remove();
+            MDC.remove(MDC_TRACE_ID);
+        } else {
+            current.set(span.getLocalParent());
+        }
+        exporter.export(span);
+    }
+
+    public Span current() {
+        return current.get();
+    }
+
+    public static String traceparent(Span span) {
+        return "00-" + span.getTraceId() + "-" + span.getSpanId() + "-01";
+    }
+
+    private Span open(Span span) {
+        current.set(span);
+        MDC.put(MDC_TRACE_ID, span.getTraceId());
+        return span;
+    }
+
+    private static String newId(int length) {
+        StringBuilder id = new StringBuilder(length);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (id.length() < length) {
+            String part = Long.toHexString(random.nextLong());
+            id.append("0".repeat(16 - part.length())).append(part);
+        }
+        return id.substring(0, length);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter(@Value("${shareit.tracing.buffer-size:500}") int bufferSize) {
+        return new InMemorySpanExporter(bufferSize);
+    }
+
+    @Bean
+    public Tracer tracer(InMemorySpanExporter inMemorySpanExporter) {
+        return new Tracer(inMemorySpanExporter);
+    }
+
+    @Bean
+    public TraceEndpoint traceEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+        return new TraceEndpoint(inMemorySpanExporter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    //Спан на каждый вызов репозитория
+    @Bean
+    public static BeanPostProcessor repositoryTracingBeanPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport) {
+                    ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(new RepositoryTracingInterceptor(tracer.getObject(),
+                                            repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+    private final Tracer tracer;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Span span = tracer.startRoot(request.getMethod() + " " + request.getRequestURI(),
+                request.getHeader(Tracer.TRACEPARENT));
+        response.setHeader(Tracer.TRACEPARENT, Tracer.traceparent(span));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null)
+                span.rename(request.getMethod() + " " + pattern);
+            span.tag("http.url", request.getRequestURI())
+                    .tag("http.status", response.getStatus());
+            tracer.finish(span);
+        }
+    }
+}
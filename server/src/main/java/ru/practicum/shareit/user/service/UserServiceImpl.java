@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -7,6 +8,8 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.metrics.MetricsConfig;
+import ru.practicum.shareit.outbox.OutboxPublisher;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -18,10 +21,12 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final OutboxPublisher outboxPublisher;
 
     @Override
     @Transactional
@@ -72,7 +77,9 @@ public class UserServiceImpl implements UserService {
                 throw new ConflictException("Электронная почта уже занята");
             }
 
+            boolean nameChanged = false;
             if (userDto.getName() != null && !Objects.equals(userDto.getName(), "")) {
+                nameChanged = !userDto.getName().equals(newUser.getName());
                 newUser.setName(userDto.getName());
             }
             if (userDto.getEmail() != null && !Objects.equals(userDto.getEmail(), "")) {
@@ -80,6 +87,9 @@ public class UserServiceImpl implements UserService {
             }
             log.trace("Завершение вызова метода update");
             User result = userRepository.save(newUser);
+            //Имя автора встроено в комментарии представлений предметов
+            if (nameChanged)
+                outboxPublisher.userUpdated(result);
             return UserMapper.toUserDto(result);
         }
     }
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+//Ограничивает число одновременно выполняемых запросов. С виртуальными потоками число потоков не ограничено,
+//и без этого фильтра все запросы сразу встали бы в очередь пула соединений и падали по его таймауту
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final byte[] OVERLOADED = "{\"error\":\"Сервер перегружен, повторите запрос позже\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutNanos;
+
+    private final String managementBasePath;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout, String managementBasePath) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.managementBasePath = managementBasePath.endsWith("/") ? managementBasePath : managementBasePath + "/";
+    }
+
+    //health и prometheus отвечают и под нагрузкой, иначе проверки живости падают именно когда сервис занят
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + managementBasePath);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.debug("Получен статус 503 Service unavailable {} {}", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(OVERLOADED);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
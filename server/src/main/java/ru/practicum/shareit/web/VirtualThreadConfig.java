@@ -0,0 +1,52 @@
+package ru.practicum.shareit.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+//Каждый запрос выполняется в своём виртуальном потоке, число одновременных запросов ограничено пулом соединений с БД
+@Configuration
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+@ConditionalOnProperty(prefix = "shareit.web.virtual-threads", name = "enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutorCustomizer() {
+        return protocolHandler -> VirtualThreads.newPerTaskExecutor().ifPresent(protocolHandler::setExecutor);
+    }
+
+    //Без виртуальных потоков запросы и так ограничены пулом Tomcat, а лимит лишь урезал бы его
+    @Bean
+    @Conditional(VirtualThreadsAvailable.class)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            VirtualThreadProperties properties,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${management.endpoints.web.base-path:/actuator}") String managementBasePath) {
+        int maxConcurrentRequests = properties.getMaxConcurrentRequests() != null
+                ? properties.getMaxConcurrentRequests() : poolSize;
+        log.info("Одновременно выполняется не более {} запросов", maxConcurrentRequests);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(maxConcurrentRequests, properties.getAcquireTimeout(), managementBasePath));
+        //После фильтра трассировки: отклонённые запросы тоже попадают в трассы
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    static class VirtualThreadsAvailable implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return VirtualThreads.isAvailable();
+        }
+    }
+}
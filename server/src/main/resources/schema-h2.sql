@@ -0,0 +1,15 @@
+DROP TABLE IF EXISTS bookings_archive CASCADE;
+
+CREATE TABLE IF NOT EXISTS bookings_archive (
+  id BIGINT NOT NULL,
+  start_date TIMESTAMP NOT NULL,
+  end_date TIMESTAMP NOT NULL,
+  item_id BIGINT NOT NULL,
+  booker_id BIGINT NOT NULL,
+  status VARCHAR(16) NOT NULL,
+  CONSTRAINT pk_booking_archive PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_start ON bookings_archive (booker_id, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_item ON bookings_archive (item_id, end_date);
@@ -0,0 +1,24 @@
+DROP TABLE IF EXISTS bookings_archive CASCADE;
+
+CREATE TABLE IF NOT EXISTS bookings_archive (
+  id BIGINT NOT NULL,
+  start_date TIMESTAMP NOT NULL,
+  end_date TIMESTAMP NOT NULL,
+  item_id BIGINT NOT NULL,
+  booker_id BIGINT NOT NULL,
+  status VARCHAR(16) NOT NULL,
+  CONSTRAINT pk_booking_archive PRIMARY KEY (id, end_date)
+) PARTITION BY RANGE (end_date);
+
+CREATE TABLE IF NOT EXISTS bookings_archive_default PARTITION OF bookings_archive DEFAULT;
+
+DO 'BEGIN
+  FOR y IN date_part(''year'', now())::int - 10 .. date_part(''year'', now())::int LOOP
+    EXECUTE format(''CREATE TABLE IF NOT EXISTS bookings_archive_%s PARTITION OF bookings_archive FOR VALUES FROM (%L) TO (%L)'',
+        y, make_date(y, 1, 1), make_date(y + 1, 1, 1));
+  END LOOP;
+END';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_start ON bookings_archive (booker_id, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_item ON bookings_archive (item_id, end_date);
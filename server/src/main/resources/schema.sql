@@ -1,8 +1,12 @@
+DROP VIEW IF EXISTS bookings_history;
 DROP TABLE IF EXISTS users CASCADE;
 DROP TABLE IF EXISTS items CASCADE;
 DROP TABLE IF EXISTS bookings CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
 DROP TABLE IF EXISTS comments CASCADE;
+DROP TABLE IF EXISTS outbox_events CASCADE;
+DROP TABLE IF EXISTS owner_item_views CASCADE;
+DROP SEQUENCE IF EXISTS items_seq;
 
 CREATE TABLE IF NOT EXISTS users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -12,6 +16,8 @@ CREATE TABLE IF NOT EXISTS users (
   CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS items (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   name VARCHAR(255) NOT NULL,
@@ -19,6 +25,7 @@ CREATE TABLE IF NOT EXISTS items (
   is_available BOOLEAN NOT NULL,
   owner_id BIGINT REFERENCES users NOT NULL,
   request_id BIGINT,
+  comment_count INTEGER DEFAULT 0 NOT NULL,
   CONSTRAINT pk_item PRIMARY KEY (id)
 );
 
@@ -32,6 +39,11 @@ CREATE TABLE IF NOT EXISTS bookings (
   CONSTRAINT pk_booking PRIMARY KEY (id)
 );
 
+CREATE VIEW bookings_history AS
+  SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings
+  UNION ALL
+  SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings_archive;
+
 CREATE TABLE IF NOT EXISTS requests (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   description VARCHAR(2000),
@@ -47,4 +59,49 @@ CREATE TABLE IF NOT EXISTS comments (
   author_id BIGINT REFERENCES users NOT NULL,
   created TIMESTAMP NOT NULL,
   CONSTRAINT pk_comment PRIMARY KEY (id)
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  aggregate_type VARCHAR(16) NOT NULL,
+  aggregate_id BIGINT NOT NULL,
+  owner_id BIGINT,
+  event_type VARCHAR(16) NOT NULL,
+  payload VARCHAR(2000),
+  created TIMESTAMP NOT NULL,
+  CONSTRAINT pk_outbox_event PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS owner_item_views (
+  item_id BIGINT NOT NULL,
+  owner_id BIGINT NOT NULL,
+  name VARCHAR(255) NOT NULL,
+  description VARCHAR(2000),
+  available BOOLEAN NOT NULL,
+  request_id BIGINT,
+  comment_count INTEGER NOT NULL,
+  last_booking_id BIGINT,
+  last_booker_id BIGINT,
+  last_start TIMESTAMP,
+  last_end TIMESTAMP,
+  next_booking_id BIGINT,
+  next_booker_id BIGINT,
+  next_start TIMESTAMP,
+  next_end TIMESTAMP,
+  comments TEXT,
+  CONSTRAINT pk_owner_item_view PRIMARY KEY (item_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_status_start ON bookings (status, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_end ON bookings (end_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_owner ON outbox_events (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_owner_item_views_owner ON owner_item_views (owner_id, item_id);
+
+CREATE INDEX IF NOT EXISTS idx_owner_item_views_next_start ON owner_item_views (next_start);
\ No newline at end of file
@@ -0,0 +1,166 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+//Число SELECT на список не должно зависеть от его длины; INSERT событий outbox растут с числом изменений и не считаются.
+//Кэш второго уровня и фоновые задачи отключены, чтобы считались только запросы проверяемого метода
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.QueryCountIntegrationTest$SelectCounter",
+        "shareit.cache.enabled=false",
+        "shareit.outbox.relay-enabled=false",
+        "shareit.item.owner-view.enabled=false",
+        "shareit.booking.expiration.enabled=false",
+        "shareit.booking.archive.enabled=false"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryCountIntegrationTest {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void testOwnerItemsQueryCountDoesNotDependOnItemCount() {
+        User smallOwner = ownerWithBookedItems(2);
+        User largeOwner = ownerWithBookedItems(8);
+
+        long small = countQueries(() -> itemService.getAllUserItems(smallOwner.getId()));
+        List<ItemDto> items = new ArrayList<>();
+        long large = countQueries(() -> items.addAll(itemService.getAllUserItems(largeOwner.getId())));
+
+        assertThat(large, equalTo(small));
+        assertThat(items.size(), equalTo(8));
+        assertThat(items.get(0).getRequestId(), notNullValue());
+        assertThat(items.get(0).getLastBooking(), notNullValue());
+        assertThat(items.get(0).getNextBooking(), notNullValue());
+    }
+
+    @Test
+    void testExpireWaitingQueryCountDoesNotDependOnBookingCount() {
+        LocalDateTime startBefore = LocalDateTime.now().plusYears(1);
+        bookingService.expireWaiting(startBefore, 100);
+
+        waitingBookings(2);
+        long small = countQueries(() -> bookingService.expireWaiting(startBefore, 100));
+        waitingBookings(8);
+        long large = countQueries(() -> bookingService.expireWaiting(startBefore, 100));
+
+        assertThat(large, equalTo(small));
+    }
+
+    @Test
+    void testGetBookingReadsItemAndBookerWithBooking() {
+        User owner = ownerWithBookedItems(1);
+        Booking booking = bookingRepository.findAll().stream()
+                .filter(candidate -> candidate.getStatus() == BookingStatus.APPROVED)
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        Long bookingId = booking.getId();
+
+        //Пользователь, затем бронирование вместе с предметом и автором
+        assertThat(countQueries(() -> bookingService.get(bookingId, owner.getId())), equalTo(2L));
+    }
+
+    private long countQueries(Runnable action) {
+        SelectCounter.COUNT.set(0);
+        action.run();
+        return SelectCounter.COUNT.get();
+    }
+
+    //У каждого предмета свой запрос, прошлое и будущее бронирование от разных пользователей
+    private User ownerWithBookedItems(int count) {
+        User owner = user();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("Request " + i)
+                    .requestor(user())
+                    .created(now)
+                    .build());
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            booking(item, user(), now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED);
+            booking(item, user(), now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED);
+        }
+        return owner;
+    }
+
+    private void waitingBookings(int count) {
+        User owner = user();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Waiting item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            booking(item, user(), now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        }
+    }
+
+    private void booking(Item item, User booker, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+
+    private User user() {
+        long id = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .name("User " + id)
+                .email("query-count-" + id + "@email.com")
+                .build());
+    }
+
+    public static class SelectCounter implements StatementInspector {
+        static final AtomicLong COUNT = new AtomicLong();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                COUNT.incrementAndGet();
+            return sql;
+        }
+    }
+}
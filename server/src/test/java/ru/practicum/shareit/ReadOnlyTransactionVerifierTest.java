@@ -0,0 +1,185 @@
+package ru.practicum.shareit;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//Проверяет, что каждый GET-эндпоинт открывает только транзакции readOnly с FlushMode.MANUAL.
+//Фоновый ретранслятор outbox отключён: его транзакции попали бы в запись этого менеджера
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:transaction-verifier",
+        "shareit.outbox.relay-enabled=false"})
+@AutoConfigureMockMvc
+@Import(ReadOnlyTransactionVerifierTest.RecordingConfig.class)
+public class ReadOnlyTransactionVerifierTest {
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{(\\w+)}");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+    @Autowired
+    private RecordingTransactionManager transactionManager;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    private final Map<String, Long> pathVariables = new HashMap<>();
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        UserDto owner = userService.create(UserDto.builder()
+                .name("Owner")
+                .email("owner-" + System.nanoTime() + "@email.com")
+                .build());
+        UserDto booker = userService.create(UserDto.builder()
+                .name("Booker")
+                .email("booker-" + System.nanoTime() + "@email.com")
+                .build());
+        ItemDto item = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Item")
+                .description("Item description")
+                .available(true)
+                .build());
+        Long bookingId = bookingService.create(booker.getId(), BookingDtoInput.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build()).getId();
+        Long requestId = itemRequestService.create(booker.getId(), ItemRequestDtoInput.builder()
+                .description("Request description")
+                .build()).getId();
+
+        ownerId = owner.getId();
+        pathVariables.put("id", ownerId);
+        pathVariables.put("itemId", item.getId());
+        pathVariables.put("bookingId", bookingId);
+        pathVariables.put("requestId", requestId);
+        transactionManager.transactions.clear();
+    }
+
+    @Test
+    void testReadEndpointsOpenOnlyReadOnlyTransactions() throws Exception {
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> handler : handlerMapping.getHandlerMethods().entrySet()) {
+            if (!handler.getKey().getMethodsCondition().getMethods().contains(RequestMethod.GET)
+                    || !handler.getValue().getBeanType().getPackageName().startsWith("ru.practicum.shareit")) {
+                continue;
+            }
+            for (String pattern : handler.getKey().getPatternValues()) {
+                String url = expand(pattern);
+                transactionManager.transactions.clear();
+
+                mockMvc.perform(get(url)
+                                .header("X-Sharer-User-Id", ownerId)
+                                .param("text", "item"))
+                        .andExpect(status().is2xxSuccessful());
+
+                assertThat("Эндпоинт " + url + " не открыл транзакцию",
+                        transactionManager.transactions, not(empty()));
+                for (RecordedTransaction transaction : transactionManager.transactions) {
+                    if (!transaction.readOnly || transaction.flushMode != FlushMode.MANUAL) {
+                        throw new AssertionError("Эндпоинт GET " + url + " открыл транзакцию на запись: "
+                                + transaction.name + " (flushMode = " + transaction.flushMode + ")");
+                    }
+                }
+            }
+        }
+    }
+
+    private String expand(String pattern) {
+        Matcher matcher = PATH_VARIABLE.matcher(pattern);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            Long value = pathVariables.get(matcher.group(1));
+            if (value == null)
+                throw new AssertionError("Нет тестового значения для {" + matcher.group(1) + "} в " + pattern);
+            matcher.appendReplacement(result, String.valueOf(value));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    static class RecordedTransaction {
+        private final String name;
+        private final boolean readOnly;
+        private final FlushMode flushMode;
+
+        RecordedTransaction(String name, boolean readOnly, FlushMode flushMode) {
+            this.name = name;
+            this.readOnly = readOnly;
+            this.flushMode = flushMode;
+        }
+    }
+
+    static class RecordingTransactionManager extends JpaTransactionManager {
+        private final List<RecordedTransaction> transactions = new CopyOnWriteArrayList<>();
+
+        RecordingTransactionManager(EntityManagerFactory entityManagerFactory) {
+            super(entityManagerFactory);
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            super.doBegin(transaction, definition);
+            EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+                    .getResource(obtainEntityManagerFactory());
+            FlushMode flushMode = holder == null ? null
+                    : holder.getEntityManager().unwrap(Session.class).getHibernateFlushMode();
+            transactions.add(new RecordedTransaction(definition.getName(), definition.isReadOnly(), flushMode));
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+        @Bean
+        RecordingTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new RecordingTransactionManager(entityManagerFactory);
+        }
+    }
+}
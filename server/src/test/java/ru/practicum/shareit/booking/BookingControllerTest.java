@@ -15,6 +15,7 @@ import org.springframework.web.context.WebApplicationContext;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingUserDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -43,6 +44,8 @@ public class BookingControllerTest {
     private ObjectMapper objectMapper;
     @MockBean
     BookingService bookingService;
+    @MockBean
+    BookingExportService bookingExportService;
 
     @BeforeEach
     void setUp(WebApplicationContext wac) {
@@ -180,4 +183,27 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].end", Matchers.notNullValue()))
                 .andExpect(jsonPath("$[0].status", is("WAITING")));
     }
-}
\ No newline at end of file
+
+    @DisplayName("Нормализованный список бронирований владельца")
+    @Test
+    void getOwnerBookingsNormalized() throws Exception {
+        when(bookingService.getAllOwnerBookings(anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(List.of(booking1, booking2));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "ALL")
+                        .param("format", "normalized")
+                        .accept(MediaType.APPLICATION_JSON)
+                ).andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings.length()", is(2)))
+                .andExpect(jsonPath("$.bookings[1].id", is(booking2.getId()), Long.class))
+                .andExpect(jsonPath("$.bookings[1].itemId", is(1)))
+                .andExpect(jsonPath("$.bookings[1].bookerId", is(1)))
+                .andExpect(jsonPath("$.bookings[1].item").doesNotExist())
+                .andExpect(jsonPath("$.items.length()", is(1)))
+                .andExpect(jsonPath("$.items[0].name", is("Item1")))
+                .andExpect(jsonPath("$.users.length()", is(1)))
+                .andExpect(jsonPath("$.users[0].email", is("user1@email.com")));
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.booking.archive;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingHistoryRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.comments.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.view.OwnerItemViewRepository;
+import ru.practicum.shareit.item.view.OwnerItemViewService;
+import ru.practicum.shareit.outbox.AggregateType;
+import ru.practicum.shareit.outbox.EventType;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingArchiveSchedulerTest {
+    private final EntityManager entityManager;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OwnerItemViewService ownerItemViewService;
+    private final OwnerItemViewRepository ownerItemViewRepository;
+    private final BookingArchiveProperties properties = new BookingArchiveProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LocalDateTime now;
+    private Long ownerId;
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(2);
+        now = LocalDateTime.now();
+        ownerId = userService.create(UserDto.builder()
+                .name("Owner name")
+                .email("archive-owner@email.com")
+                .build()).getId();
+        Long bookerId = userService.create(UserDto.builder()
+                .name("Booker name")
+                .email("archive-booker@email.com")
+                .build()).getId();
+        Long itemId = itemService.create(ownerId, ItemDto.builder()
+                .name("Item name")
+                .description("Item description")
+                .available(true)
+                .build()).getId();
+        item = itemRepository.findById(itemId).orElseThrow();
+        booker = userRepository.findById(bookerId).orElseThrow();
+    }
+
+    @Test
+    void testArchivesOnlyFinishedBookingsOlderThanRetention() {
+        Booking oldApproved = save(now.minusYears(2), BookingStatus.APPROVED);
+        Booking oldRejected = save(now.minusYears(2).plusDays(1), BookingStatus.REJECTED);
+        Booking oldWaiting = save(now.minusYears(2).plusDays(2), BookingStatus.WAITING);
+        Booking recent = save(now.minusDays(10), BookingStatus.APPROVED);
+        Booking future = save(now.plusDays(1), BookingStatus.APPROVED);
+        BookingArchiveScheduler scheduler = new BookingArchiveScheduler(bookingService, properties, meterRegistry);
+
+        int archived = scheduler.archive(now);
+        entityManager.clear();
+
+        assertThat(archived, equalTo(2));
+        assertThat(bookingRepository.findById(oldApproved.getId()).isPresent(), equalTo(false));
+        assertThat(bookingRepository.findById(oldRejected.getId()).isPresent(), equalTo(false));
+        assertThat(bookingRepository.findById(oldWaiting.getId()).isPresent(), equalTo(true));
+        assertThat(bookingRepository.findById(recent.getId()).isPresent(), equalTo(true));
+        assertThat(bookingRepository.findById(future.getId()).isPresent(), equalTo(true));
+        assertThat(bookingHistoryRepository.findById(oldApproved.getId()).orElseThrow().getStatus(),
+                equalTo(BookingStatus.APPROVED));
+        assertThat(meterRegistry.counter("shareit.booking.archived").count(), equalTo(2.0));
+    }
+
+    @Test
+    void testArchivePublishesItemEventOncePerItem() {
+        save(now.minusYears(2), BookingStatus.APPROVED);
+        save(now.minusYears(2).plusDays(1), BookingStatus.REJECTED);
+        long before = itemUpdatedEvents();
+
+        new BookingArchiveScheduler(bookingService, properties, meterRegistry).archive(now);
+
+        assertThat(itemUpdatedEvents() - before, equalTo(1L));
+    }
+
+    @Test
+    void testArchivedBookingsStayVisibleInHistoryStates() {
+        Booking oldApproved = save(now.minusYears(2), BookingStatus.APPROVED);
+        save(now.minusYears(2).plusDays(1), BookingStatus.REJECTED);
+        save(now.minusDays(10), BookingStatus.APPROVED);
+        save(now.plusDays(1), BookingStatus.APPROVED);
+        new BookingArchiveScheduler(bookingService, properties, meterRegistry).archive(now);
+        entityManager.clear();
+
+        assertThat(bookingService.getAllOwnerBookings(ownerId, "ALL", 0, 10).size(), equalTo(4));
+        assertThat(bookingService.getAllOwnerBookings(ownerId, "PAST", 0, 10).size(), equalTo(3));
+        assertThat(bookingService.getAllOwnerBookings(ownerId, "REJECTED", 0, 10).size(), equalTo(1));
+        assertThat(bookingService.getAllOwnerBookings(ownerId, "FUTURE", 0, 10).size(), equalTo(1));
+        assertThat(bookingService.getAllBookerBookings(booker.getId(), "PAST", 0, 10).get(2).getId(),
+                equalTo(oldApproved.getId()));
+        assertThat(bookingService.get(oldApproved.getId(), ownerId).getStatus(), equalTo(BookingStatus.APPROVED));
+        itemService.createComment(CommentDto.builder()
+                .text("Comment")
+                .created(now)
+                .build(), booker.getId(), item.getId());
+    }
+
+    @Test
+    void testLastBookingIsTakenFromArchiveWhenNoneLeftInBookings() {
+        Booking oldApproved = save(now.minusYears(2), BookingStatus.APPROVED);
+        save(now.minusYears(2).plusDays(1), BookingStatus.REJECTED);
+        Booking future = save(now.plusDays(1), BookingStatus.APPROVED);
+        new BookingArchiveScheduler(bookingService, properties, meterRegistry).archive(now);
+        entityManager.clear();
+
+        ItemDto itemDto = itemService.get(item.getId(), ownerId);
+        assertThat(itemDto.getLastBooking().getId(), equalTo(oldApproved.getId()));
+        assertThat(itemDto.getLastBooking().getBookerId(), equalTo(booker.getId()));
+        assertThat(itemDto.getNextBooking().getId(), equalTo(future.getId()));
+        assertThat(itemService.getAllUserItems(ownerId).get(0).getLastBooking().getId(),
+                equalTo(oldApproved.getId()));
+
+        ownerItemViewService.rebuild(List.of(item.getId()));
+        assertThat(ownerItemViewRepository.findById(item.getId()).orElseThrow().getLastBookingId(),
+                equalTo(oldApproved.getId()));
+    }
+
+    private long itemUpdatedEvents() {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getAggregateType() == AggregateType.ITEM
+                        && event.getAggregateId().equals(item.getId())
+                        && event.getEventType() == EventType.UPDATED)
+                .count();
+    }
+
+    private Booking save(LocalDateTime start, BookingStatus status) {
+        return bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(start.plusHours(1))
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking.expiration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingExpirationSchedulerTest {
+    private final EntityManager entityManager;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingExpirationProperties properties = new BookingExpirationProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LocalDateTime now;
+    private Long ownerId;
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(2);
+        now = LocalDateTime.now();
+        ownerId = userService.create(UserDto.builder()
+                .name("Owner name")
+                .email("expiration-owner@email.com")
+                .build()).getId();
+        Long bookerId = userService.create(UserDto.builder()
+                .name("Booker name")
+                .email("expiration-booker@email.com")
+                .build()).getId();
+        Long itemId = itemService.create(ownerId, ItemDto.builder()
+                .name("Item name")
+                .description("Item description")
+                .available(true)
+                .build()).getId();
+        item = itemRepository.findById(itemId).orElseThrow();
+        booker = userRepository.findById(bookerId).orElseThrow();
+    }
+
+    @Test
+    void testExpiresStartedWaitingBookingsInBatches() {
+        Booking started1 = save(now.minusHours(3), BookingStatus.WAITING);
+        Booking started2 = save(now.minusHours(2), BookingStatus.WAITING);
+        Booking started3 = save(now.minusHours(1), BookingStatus.WAITING);
+        Booking approved = save(now.minusHours(1), BookingStatus.APPROVED);
+        Booking future = save(now.plusDays(1), BookingStatus.WAITING);
+        BookingExpirationScheduler scheduler = new BookingExpirationScheduler(bookingService, properties, meterRegistry);
+
+        int expired = scheduler.expire(now);
+        entityManager.clear();
+
+        assertThat(expired, equalTo(3));
+        assertThat(status(started1), equalTo(BookingStatus.EXPIRED));
+        assertThat(status(started2), equalTo(BookingStatus.EXPIRED));
+        assertThat(status(started3), equalTo(BookingStatus.EXPIRED));
+        assertThat(status(approved), equalTo(BookingStatus.APPROVED));
+        assertThat(status(future), equalTo(BookingStatus.WAITING));
+        assertThat(meterRegistry.counter("shareit.booking.expired").count(), equalTo(3.0));
+        assertThat(bookingService.getAllOwnerBookings(ownerId, "EXPIRED", 0, 10).size(), equalTo(3));
+        assertThat(bookingService.getAllBookerBookings(booker.getId(), "EXPIRED", 0, 10).size(), equalTo(3));
+    }
+
+    @Test
+    void testApprovalDeadlineExpiresBookingsBeforeStart() {
+        properties.setApprovalDeadline(Duration.ofHours(2));
+        Booking soon = save(now.plusHours(1), BookingStatus.WAITING);
+        Booking later = save(now.plusHours(3), BookingStatus.WAITING);
+        BookingExpirationScheduler scheduler = new BookingExpirationScheduler(bookingService, properties, meterRegistry);
+
+        scheduler.expire(now);
+        entityManager.clear();
+
+        assertThat(status(soon), equalTo(BookingStatus.EXPIRED));
+        assertThat(status(later), equalTo(BookingStatus.WAITING));
+        assertThrows(ValidationException.class, () -> bookingService.confirm(soon.getId(), ownerId, true));
+    }
+
+    private Booking save(LocalDateTime start, BookingStatus status) {
+        return bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(start.plusHours(1))
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build());
+    }
+
+    private BookingStatus status(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+}
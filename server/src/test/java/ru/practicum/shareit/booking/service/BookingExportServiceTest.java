@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingExportServiceTest {
+    private final BookingExportService bookingExportService;
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+
+    @Test
+    void testExportWritesOneLinePerBooking() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Long ownerId = userService.create(UserDto.builder()
+                .name("Owner name")
+                .email("export-owner@email.com")
+                .build()).getId();
+        Long bookerId = userService.create(UserDto.builder()
+                .name("Booker name")
+                .email("export-booker@email.com")
+                .build()).getId();
+        ItemDto item = itemService.create(ownerId, ItemDto.builder()
+                .name("Item name")
+                .description("Item description")
+                .available(true)
+                .build());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            ids.add(bookingService.create(bookerId, BookingDtoInput.builder()
+                    .itemId(item.getId())
+                    .start(now.plusDays(i))
+                    .end(now.plusDays(i).plusHours(1))
+                    .build()).getId());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = bookingExportService.exportOwnerBookings(ownerId, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count, equalTo(3L));
+        assertThat(lines.length, equalTo(3));
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode booking = objectMapper.readTree(lines[i]);
+            assertThat(booking.get("id").asLong(), equalTo(ids.get(i)));
+            assertThat(booking.get("item").get("name").asText(), equalTo("Item name"));
+            assertThat(booking.get("booker").get("id").asLong(), equalTo(bookerId));
+        }
+        assertThat(out.toString(StandardCharsets.UTF_8).endsWith("\n"), is(true));
+    }
+
+    @Test
+    void testExportUnknownOwner() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(ObjectNotFoundException.class, () -> bookingExportService.exportOwnerBookings(-1L, out));
+        assertThat(out.size(), equalTo(0));
+    }
+}
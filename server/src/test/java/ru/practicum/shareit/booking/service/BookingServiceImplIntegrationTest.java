@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingUserDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -72,4 +73,40 @@ public class BookingServiceImplIntegrationTest {
         assertThat(actualBookings.get(0).getBooker().getId(), equalTo(bookerId));
         assertThat(actualBookings.get(0).getStatus(), equalTo(BookingStatus.WAITING));
     }
+
+    @Test
+    void testOwnerAndBookerListsAreProjected() {
+        UserDto owner = userService.create(UserDto.builder()
+                .name("Owner name")
+                .email("owner@email.com")
+                .build());
+        UserDto booker = userService.create(UserDto.builder()
+                .name("Booker name")
+                .email("booker@email.com")
+                .build());
+        ItemDto itemDto = itemService.create(
+                owner.getId(),
+                ItemDto.builder()
+                        .name("Item name")
+                        .description("Item description")
+                        .available(true)
+                        .build()
+        );
+        bookingService.create(booker.getId(), BookingDtoInput.builder()
+                .itemId(itemDto.getId())
+                .start(LocalDateTime.now().plusHours(2))
+                .end(LocalDateTime.now().plusHours(3))
+                .build());
+
+        List<BookingUserDto> ownerBookings = bookingService.getAllOwnerBookings(owner.getId(), "WAITING", 0, 10);
+        List<BookingUserDto> bookerBookings = bookingService.getAllBookerBookings(booker.getId(), "FUTURE", 0, 10);
+
+        assertThat(ownerBookings.size(), equalTo(1));
+        assertThat(ownerBookings.get(0).getItem().getName(), equalTo("Item name"));
+        assertThat(ownerBookings.get(0).getItem().getRequestId(), equalTo(null));
+        assertThat(ownerBookings.get(0).getBooker().getEmail(), equalTo("booker@email.com"));
+        assertThat(bookerBookings.size(), equalTo(1));
+        assertThat(bookerBookings.get(0).getId(), equalTo(ownerBookings.get(0).getId()));
+        assertThat(bookerBookings.get(0).getStatus(), equalTo(BookingStatus.WAITING));
+    }
 }
@@ -12,8 +12,11 @@ import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.booking.expiration.BookingExpirationPolicy;
+import ru.practicum.shareit.booking.expiration.BookingExpirationProperties;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingHistoryRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.IncorrectParameterException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
@@ -21,6 +24,7 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxPublisher;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -41,9 +45,13 @@ public class BookingServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
     @Mock
+    private BookingHistoryRepository bookingHistoryRepository;
+    @Mock
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private OutboxPublisher outboxPublisher;
     private User user1;
     private User user2;
     private Item item1;
@@ -51,7 +59,8 @@ public class BookingServiceImplTest {
 
     @BeforeEach
     void beforeEach() {
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+        bookingService = new BookingServiceImpl(bookingRepository, bookingHistoryRepository, userRepository, itemRepository,
+                outboxPublisher, new BookingExpirationPolicy(new BookingExpirationProperties()));
         user1 = User.builder()
                 .id(1L)
                 .name("User 1 name")
@@ -272,6 +281,61 @@ public class BookingServiceImplTest {
         Mockito.verifyNoMoreInteractions(bookingRepository);
     }
 
+    @Test
+    void testConfirmStartedWaitingBookingIsExpired() {
+        booking1.setStart(LocalDateTime.now().minusMinutes(1));
+        Long itemOwnerId = booking1.getItem().getOwner().getId();
+        Mockito
+                .when(userRepository.findById(itemOwnerId))
+                .thenReturn(Optional.of(user1));
+        Mockito
+                .when(bookingRepository.findById(booking1.getId()))
+                .thenReturn(Optional.of(booking1));
+
+        Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.confirm(booking1.getId(), itemOwnerId, true));
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
+    }
+
+    @Test
+    void testConfirmStartedWaitingBookingWhenExpirationDisabled() {
+        BookingExpirationProperties properties = new BookingExpirationProperties();
+        properties.setEnabled(false);
+        bookingService = new BookingServiceImpl(bookingRepository, bookingHistoryRepository, userRepository, itemRepository,
+                outboxPublisher, new BookingExpirationPolicy(properties));
+        booking1.setStart(LocalDateTime.now().minusMinutes(1));
+        Long itemOwnerId = booking1.getItem().getOwner().getId();
+        Mockito
+                .when(userRepository.findById(itemOwnerId))
+                .thenReturn(Optional.of(user1));
+        Mockito
+                .when(bookingRepository.findById(booking1.getId()))
+                .thenReturn(Optional.of(booking1));
+        Mockito
+                .when(bookingRepository.save(Mockito.any(Booking.class)))
+                .thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0, Booking.class));
+
+        BookingUserDto actualBooking = bookingService.confirm(booking1.getId(), itemOwnerId, true);
+
+        assertThat(actualBooking.getStatus(), equalTo(BookingStatus.APPROVED));
+        Mockito.verify(bookingRepository, Mockito.times(1)).save(booking1);
+    }
+
+    @Test
+    void testConfirmExpiredBookingByNotOwner() {
+        booking1.setStatus(BookingStatus.EXPIRED);
+        Long bookerId = booking1.getBooker().getId();
+        Mockito
+                .when(userRepository.findById(bookerId))
+                .thenReturn(Optional.of(booking1.getBooker()));
+        Mockito
+                .when(bookingRepository.findById(booking1.getId()))
+                .thenReturn(Optional.of(booking1));
+
+        Assertions.assertThrows(ObjectNotFoundException.class,
+                () -> bookingService.confirm(booking1.getId(), bookerId, true));
+    }
+
     @Test
     void testGetBooking() {
         Long bookingId = booking1.getId();
@@ -301,7 +365,7 @@ public class BookingServiceImplTest {
                 .when(userRepository.findById(bookerId))
                 .thenReturn(Optional.of(user1));
         Mockito
-                .when(bookingRepository.findAllByBookerIdOrderByStartDesc(
+                .when(bookingHistoryRepository.findAllByBookerIdOrderByStartDesc(
                         Mockito.anyLong(),
                         Mockito.any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
@@ -310,9 +374,9 @@ public class BookingServiceImplTest {
 
         Mockito.verify(userRepository, Mockito.times(1))
                 .findById(bookerId);
-        Mockito.verify(bookingRepository, Mockito.times(1))
+        Mockito.verify(bookingHistoryRepository, Mockito.times(1))
                 .findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository, bookingHistoryRepository);
     }
 
     @Test
@@ -325,7 +389,7 @@ public class BookingServiceImplTest {
                 .when(userRepository.findById(bookerId))
                 .thenReturn(Optional.of(user1));
         Mockito
-                .when(bookingRepository.findAllByBookerIdOrderByStartDesc(
+                .when(bookingHistoryRepository.findAllByBookerIdOrderByStartDesc(
                         Mockito.anyLong(),
                         Mockito.any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
@@ -334,9 +398,9 @@ public class BookingServiceImplTest {
 
         Mockito.verify(userRepository, Mockito.times(1))
                 .findById(bookerId);
-        Mockito.verify(bookingRepository, Mockito.times(1))
+        Mockito.verify(bookingHistoryRepository, Mockito.times(1))
                 .findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository, bookingHistoryRepository);
     }
 
     @Test
@@ -349,7 +413,7 @@ public class BookingServiceImplTest {
                 .when(userRepository.findById(bookerId))
                 .thenReturn(Optional.of(user1));
         Mockito
-                .when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(
+                .when(bookingHistoryRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(
                         Mockito.anyLong(),
                         Mockito.any(LocalDateTime.class),
                         Mockito.any(Pageable.class)))
@@ -359,10 +423,10 @@ public class BookingServiceImplTest {
 
         Mockito.verify(userRepository, Mockito.times(1))
                 .findById(bookerId);
-        Mockito.verify(bookingRepository, Mockito.times(1))
+        Mockito.verify(bookingHistoryRepository, Mockito.times(1))
                 .findAllByBookerIdAndEndBeforeOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository, bookingHistoryRepository);
     }
 
     @Test
@@ -498,16 +562,16 @@ public class BookingServiceImplTest {
                 .when(userRepository.findById(ownerId))
                 .thenReturn(Optional.of(user1));
         Mockito
-                .when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .when(bookingHistoryRepository.findAllByItemOwnerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
 
         bookingService.getAllOwnerBookings(ownerId, defaultState, defaultFromElement, defaultSize);
 
         Mockito.verify(userRepository, Mockito.times(1))
                 .findById(ownerId);
-        Mockito.verify(bookingRepository, Mockito.times(1))
+        Mockito.verify(bookingHistoryRepository, Mockito.times(1))
                 .findAllByItemOwnerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository, bookingHistoryRepository);
     }
 
     @Test
@@ -520,7 +584,7 @@ public class BookingServiceImplTest {
                 .when(userRepository.findById(ownerId))
                 .thenReturn(Optional.of(user1));
         Mockito
-                .when(bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(
+                .when(bookingHistoryRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
 
@@ -528,10 +592,10 @@ public class BookingServiceImplTest {
 
         Mockito.verify(userRepository, Mockito.times(1))
                 .findById(ownerId);
-        Mockito.verify(bookingRepository, Mockito.times(1))
+        Mockito.verify(bookingHistoryRepository, Mockito.times(1))
                 .findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository, bookingHistoryRepository);
     }
 
     @Test
@@ -616,7 +680,7 @@ public class BookingServiceImplTest {
                 .when(userRepository.findById(ownerId))
                 .thenReturn(Optional.of(user1));
         Mockito
-                .when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
+                .when(bookingHistoryRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
 
@@ -624,10 +688,10 @@ public class BookingServiceImplTest {
 
         Mockito.verify(userRepository, Mockito.times(1))
                 .findById(ownerId);
-        Mockito.verify(bookingRepository, Mockito.times(1))
+        Mockito.verify(bookingHistoryRepository, Mockito.times(1))
                 .findAllByItemOwnerIdAndStatusOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository, bookingHistoryRepository);
     }
 
     @Test
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+//Без @Transactional: сущности попадают в кэш второго уровня только после фиксации транзакции.
+//Фоновые задачи отключены, чтобы их запросы не попадали в статистику Hibernate
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:entitycache",
+        "shareit.outbox.relay-enabled=false",
+        "shareit.item.owner-view.enabled=false",
+        "shareit.booking.expiration.enabled=false",
+        "shareit.booking.archive.enabled=false"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EntityCacheIntegrationTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private Statistics statistics;
+    private UserDto owner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userService.create(UserDto.builder()
+                .name("Owner")
+                .email("owner" + System.nanoTime() + "@email.com")
+                .build());
+    }
+
+    @Test
+    void testRepeatedFindByIdIsServedFromCache() {
+        statistics.clear();
+
+        userService.get(owner.getId());
+        userService.get(owner.getId());
+        userService.get(owner.getId());
+
+        //Сущность с IDENTITY-ключом Hibernate не кладёт в кэш при вставке: первое чтение идёт в БД
+        assertThat(statistics.getDomainDataRegionStatistics("users").getMissCount(), equalTo(1L));
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount(), equalTo(2L));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "users")
+                .tag("result", "hit")
+                .functionCounter()
+                .count(), equalTo(2.0));
+    }
+
+    @Test
+    void testUpdateAndDeleteInvalidateCachedUser() {
+        userService.get(owner.getId());
+        userService.update(owner.getId(), UserDto.builder().name("Renamed").build());
+
+        assertThat(userService.get(owner.getId()).getName(), equalTo("Renamed"));
+
+        userService.delete(owner.getId());
+
+        assertThrows(ObjectNotFoundException.class, () -> userService.get(owner.getId()));
+    }
+
+    @Test
+    void testItemOwnerAndRequestAreResolvedFromCache() {
+        Long requestId = itemRequestService.create(owner.getId(), ItemRequestDtoInput.builder().description("Request").build()).getId();
+        ItemDto item = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Item")
+                .description("Item description")
+                .available(true)
+                .requestId(requestId)
+                .build());
+        userService.get(owner.getId());
+        statistics.clear();
+
+        List<String> names = transactionTemplate.execute(status -> {
+            Item cached = itemRepository.findById(item.getId()).orElseThrow();
+            return List.of(cached.getName(), cached.getOwner().getName(), cached.getRequest().getDescription());
+        });
+
+        assertThat(names, equalTo(List.of("Item", "Owner", "Request")));
+        assertThat(statistics.getDomainDataRegionStatistics("items").getHitCount(), equalTo(1L));
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount(), equalTo(1L));
+        assertThat(statistics.getDomainDataRegionStatistics("requests").getHitCount(), equalTo(1L));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+    }
+
+    @Test
+    void testBulkUpdateEvictsOnlyAffectedRegion() {
+        ItemDto item = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Item")
+                .description("Item description")
+                .available(true)
+                .build());
+
+        transactionTemplate.executeWithoutResult(status -> bookingRepository.copyToArchive(List.of(-1L)));
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId()), equalTo(true));
+
+        transactionTemplate.executeWithoutResult(status -> itemRepository.incrementCommentCount(item.getId()));
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId()), equalTo(false));
+        assertThat(entityManagerFactory.getCache().contains(User.class, owner.getId()), equalTo(true));
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getCommentCount(), equalTo(1));
+    }
+}
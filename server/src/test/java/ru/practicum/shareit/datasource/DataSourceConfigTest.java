@@ -0,0 +1,46 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class DataSourceConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(DataSourcePropertiesConfig.class, DataSourceConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:config-primary",
+                    "spring.datasource.hikari.maximum-pool-size=3",
+                    "shareit.datasource.replicas.enabled=true",
+                    "shareit.datasource.replicas.urls=jdbc:h2:mem:config-replica");
+
+    @Test
+    void testPoolsUseHikariSettingsAndCloseWithContext() {
+        List<HikariDataSource> pools = new ArrayList<>();
+
+        contextRunner.run(context -> {
+            ReplicaRoutingDataSource routingDataSource = context.getBean(ReplicaRoutingDataSource.class);
+            pools.add((HikariDataSource) routingDataSource.getResolvedDefaultDataSource());
+            pools.add((HikariDataSource) routingDataSource.getReplicas().get("replica-1"));
+        });
+
+        assertThat(pools.get(0).getMaximumPoolSize(), equalTo(3));
+        assertThat(pools.get(1).getMaximumPoolSize(), equalTo(3));
+        assertThat(pools.get(0).getPoolName(), equalTo(ReplicaRoutingDataSource.PRIMARY));
+        assertThat(pools.get(0).isClosed(), equalTo(true));
+        assertThat(pools.get(1).isClosed(), equalTo(true));
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(DataSourceProperties.class)
+    static class DataSourcePropertiesConfig {
+    }
+}
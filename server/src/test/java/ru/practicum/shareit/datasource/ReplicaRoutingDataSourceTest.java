@@ -0,0 +1,160 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ReplicaRoutingDataSourceTest {
+    private JdbcTemplate replicaJdbcTemplate;
+    private ReplicaRoutingDataSource routingDataSource;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = createNode("primary");
+        DataSource replica = createNode("replica");
+        replicaJdbcTemplate = new JdbcTemplate(replica);
+        replicaJdbcTemplate.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        replicaJdbcTemplate.update("INSERT INTO replica_lag VALUES (0)");
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica));
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setMaxLag(Duration.ofSeconds(5));
+        properties.setLagQuery("SELECT seconds FROM replica_lag");
+        monitor = new ReplicaLagMonitor(routingDataSource, properties);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void testReadOnlyTransactionGoesToReplica() {
+        monitor.checkReplicas();
+
+        assertThat(readOnlyTransaction.execute(status -> currentNode()), equalTo("replica"));
+        assertThat(writeTransaction.execute(status -> currentNode()), equalTo("primary"));
+        assertThat(currentNode(), equalTo("primary"));
+    }
+
+    @Test
+    void testReadOnlyTransactionFallsBackToPrimaryWhenReplicaLags() {
+        monitor.checkReplicas();
+        replicaJdbcTemplate.update("UPDATE replica_lag SET seconds = 30");
+
+        monitor.checkReplicas();
+
+        assertThat(routingDataSource.getAvailableReplicas(), empty());
+        assertThat(readOnlyTransaction.execute(status -> currentNode()), equalTo("primary"));
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesPrimaryBeforeFirstCheck() {
+        assertThat(readOnlyTransaction.execute(status -> currentNode()), equalTo("primary"));
+    }
+
+    @Test
+    void testIdlePrimaryDoesNotMakeReplayedReplicaLag() throws IOException {
+        installWalFunctions();
+        replicaJdbcTemplate.update("INSERT INTO wal_state VALUES ('0/3000060', '0/3000060', ?)",
+                OffsetDateTime.now().minusHours(1));
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setMaxLag(Duration.ofSeconds(5));
+        properties.setLagQuery(configuredLagQuery());
+        ReplicaLagMonitor walMonitor = new ReplicaLagMonitor(routingDataSource, properties);
+
+        walMonitor.checkReplicas();
+
+        assertThat(routingDataSource.getAvailableReplicas(), contains("replica-1"));
+
+        replicaJdbcTemplate.update("UPDATE wal_state SET receive_lsn = '0/3000100'");
+
+        walMonitor.checkReplicas();
+
+        assertThat(routingDataSource.getAvailableReplicas(), empty());
+    }
+
+    public static String receiveLsn(Connection connection) throws SQLException {
+        return walState(connection, "receive_lsn").getString(1);
+    }
+
+    public static String replayLsn(Connection connection) throws SQLException {
+        return walState(connection, "replay_lsn").getString(1);
+    }
+
+    public static OffsetDateTime replayTimestamp(Connection connection) throws SQLException {
+        return walState(connection, "replay_timestamp").getObject(1, OffsetDateTime.class);
+    }
+
+    private static ResultSet walState(Connection connection, String column) throws SQLException {
+        Statement statement = connection.createStatement();
+        statement.closeOnCompletion();
+        ResultSet resultSet = statement.executeQuery("SELECT " + column + " FROM wal_state");
+        resultSet.next();
+        return resultSet;
+    }
+
+    //Функции PostgreSQL, которыми пользуется запрос отставания, поверх таблицы с состоянием WAL
+    private void installWalFunctions() {
+        String prefix = ReplicaRoutingDataSourceTest.class.getName();
+        replicaJdbcTemplate.execute("CREATE TABLE wal_state (receive_lsn VARCHAR(32), replay_lsn VARCHAR(32), "
+                + "replay_timestamp TIMESTAMP WITH TIME ZONE)");
+        replicaJdbcTemplate.execute("CREATE ALIAS pg_last_wal_receive_lsn FOR \"" + prefix + ".receiveLsn\"");
+        replicaJdbcTemplate.execute("CREATE ALIAS pg_last_wal_replay_lsn FOR \"" + prefix + ".replayLsn\"");
+        replicaJdbcTemplate.execute("CREATE ALIAS pg_last_xact_replay_timestamp FOR \""
+                + prefix + ".replayTimestamp\"");
+    }
+
+    private String configuredLagQuery() throws IOException {
+        try (InputStream input = getClass().getResourceAsStream("/application.properties")) {
+            String prefix = "shareit.datasource.replicas.lag-query=";
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> line.startsWith(prefix))
+                    .map(line -> line.substring(prefix.length()))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT node_name FROM node_info", String.class);
+    }
+
+    private DataSource createNode(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "test", "test");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node_info (node_name VARCHAR(16))");
+        template.update("INSERT INTO node_info VALUES (?)", name);
+        return dataSource;
+    }
+}
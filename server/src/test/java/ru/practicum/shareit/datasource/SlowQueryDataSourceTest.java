@@ -0,0 +1,112 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SlowQueryDataSourceTest {
+    private SlowQueryProperties properties;
+    private SlowQueryLog slowQueryLog;
+    private JdbcTemplate jdbcTemplate;
+    private SlowQueryDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource target = new DriverManagerDataSource(
+                "jdbc:h2:mem:slow-query-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        properties = new SlowQueryProperties();
+        properties.setThreshold(Duration.ZERO);
+        properties.setBufferSize(2);
+        slowQueryLog = new SlowQueryLog(properties);
+        dataSource = new SlowQueryDataSource(target, () -> slowQueryLog);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, owner_id BIGINT)");
+        jdbcTemplate.update("INSERT INTO items VALUES (1, 10), (2, 10), (3, 20)");
+    }
+
+    @Test
+    void testSelectIsLoggedWithParametersRowsAndCaller() {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM items WHERE owner_id = ?", Long.class, 10L);
+
+        SlowQueryEvent event = slowQueryLog.getEvents().get(0);
+        assertThat(ids, hasSize(2));
+        assertThat(event.getSql(), equalTo("SELECT id FROM items WHERE owner_id = ?"));
+        assertThat(event.getParameters(), equalTo(List.of("10")));
+        assertThat(event.getRows(), equalTo(2L));
+        assertThat(event.getCaller(), equalTo("SlowQueryDataSourceTest.testSelectIsLoggedWithParametersRowsAndCaller"));
+        assertThat(event.getPlan(), nullValue());
+    }
+
+    @Test
+    void testUpdateIsLoggedWithAffectedRows() {
+        jdbcTemplate.update("UPDATE items SET owner_id = ? WHERE owner_id = ?", 30L, 10L);
+
+        SlowQueryEvent event = slowQueryLog.getEvents().get(0);
+        assertThat(event.getRows(), equalTo(2L));
+        assertThat(event.getParameters(), equalTo(List.of("30", "10")));
+    }
+
+    @Test
+    void testBatchIsLoggedWithSizeAndFirstParameters() {
+        jdbcTemplate.batchUpdate("UPDATE items SET owner_id = ? WHERE id = ?",
+                List.of(new Object[]{30L, 1L}, new Object[]{40L, 2L}, new Object[]{50L, 3L}));
+        jdbcTemplate.update("UPDATE items SET owner_id = ? WHERE id = ?", 60L, 1L);
+
+        SlowQueryEvent batch = slowQueryLog.getEvents().get(1);
+        assertThat(batch.getSql(), equalTo("UPDATE items SET owner_id = ? WHERE id = ?"));
+        assertThat(batch.getBatchSize(), equalTo(3));
+        assertThat(batch.getParameters(), equalTo(List.of("30", "1")));
+        assertThat(batch.getRows(), equalTo(3L));
+        assertThat(slowQueryLog.getEvents().get(0).getBatchSize(), nullValue());
+    }
+
+    @Test
+    void testFastQueriesAreNotLogged() {
+        properties.setThreshold(Duration.ofMinutes(1));
+
+        jdbcTemplate.queryForList("SELECT id FROM items", Long.class);
+
+        assertThat(slowQueryLog.getEvents().get(0).getSql(), containsString("INSERT"));
+    }
+
+    @Test
+    void testBufferKeepsLatestEvents() {
+        jdbcTemplate.queryForList("SELECT id FROM items WHERE id = ?", Long.class, 1L);
+        jdbcTemplate.queryForList("SELECT id FROM items WHERE id = ?", Long.class, 2L);
+        jdbcTemplate.queryForList("SELECT id FROM items WHERE id = ?", Long.class, 3L);
+
+        List<SlowQueryEvent> events = slowQueryLog.getEvents();
+        assertThat(events, hasSize(2));
+        assertThat(events.get(0).getParameters(), equalTo(List.of("3")));
+        assertThat(events.get(1).getParameters(), equalTo(List.of("2")));
+    }
+
+    @Test
+    void testExplainInsideTransaction() {
+        properties.setExplain(true);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        Long count = transaction.execute(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM items WHERE owner_id = ?", Long.class, 20L);
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Long.class);
+        });
+
+        SlowQueryEvent event = slowQueryLog.getEvents().get(1);
+        assertThat(count, equalTo(3L));
+        assertThat(event.getPlan(), notNullValue());
+        assertThat(event.getPlan(), containsString("OWNER_ID"));
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class ErrorResponseTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testToJsonMatchesObjectMapper() throws Exception {
+        for (String message : new String[]{"Пользователь с id = 1 не найден", "кавычки \" и \\ слеш",
+                "перевод\nстроки\tи\u0001управляющие", "", null}) {
+            byte[] json = ErrorResponse.toJson(message);
+
+            assertThat(objectMapper.readTree(json), equalTo(objectMapper.valueToTree(new ErrorResponse(message))));
+        }
+    }
+
+    @Test
+    void testBusinessExceptionsHaveNoStackTrace() {
+        BusinessException[] exceptions = {new ObjectNotFoundException("404"), new ValidationException("400"),
+                new IncorrectParameterException("400"), new ConflictException("409")};
+
+        for (BusinessException e : exceptions) {
+            assertThat(e.getStackTrace().length, equalTo(0));
+            e.addSuppressed(new RuntimeException());
+            assertThat(e.getSuppressed().length, equalTo(0));
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.context.WebApplicationContext;
 import ru.practicum.shareit.comments.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.occupancy.ItemOccupancyService;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.nio.charset.StandardCharsets;
@@ -43,6 +44,9 @@ public class ItemControllerTest {
     @MockBean
     ItemService itemService;
 
+    @MockBean
+    ItemOccupancyService itemOccupancyService;
+
     @BeforeEach
     void setUp(WebApplicationContext wac) {
         comment1 = CommentDto.builder()
@@ -149,6 +153,40 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.available", is(item.getAvailable())));
     }
 
+    @Test
+    void addItems() throws Exception {
+        when(itemService.createAll(anyLong(), Mockito.anyList()))
+                .thenReturn(List.of(item, anotherItem));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(objectMapper.writeValueAsString(List.of(item, anotherItem)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                ).andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(item.getId()), Long.class))
+                .andExpect(jsonPath("$[1].id", is(anotherItem.getId()), Long.class));
+    }
+
+    @Test
+    void updateItemsAvailable() throws Exception {
+        when(itemService.updateAvailable(anyLong(), Mockito.anyList(), Mockito.eq(true)))
+                .thenReturn(List.of(item));
+
+        mockMvc.perform(patch("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("available", "true")
+                        .content(objectMapper.writeValueAsString(List.of(1L)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                ).andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(item.getId()), Long.class))
+                .andExpect(jsonPath("$[0].available", is(true)));
+    }
+
     @Test
     void updateItem() throws Exception {
         when(itemService.update(anyLong(), anyLong(), Mockito.any(ItemDto.class)))
@@ -167,6 +205,20 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.available", is(item.getAvailable())));
     }
 
+    @Test
+    void getComments() throws Exception {
+        when(itemService.getComments(1L, 0, 5))
+                .thenReturn(List.of(comment1));
+
+        mockMvc.perform(get("/items/1/comment")
+                        .param("from", "0")
+                        .param("size", "5")
+                        .accept(MediaType.APPLICATION_JSON)
+                ).andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$[0].text", is(comment1.getText())));
+    }
+
     @Test
     void addComment() throws Exception {
         when(itemService.createComment(Mockito.any(CommentDto.class), anyLong(), anyLong()))
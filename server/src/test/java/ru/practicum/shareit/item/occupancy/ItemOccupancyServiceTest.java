@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item.occupancy;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.IncorrectParameterException;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.outbox.OutboxRelay;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemOccupancyServiceTest {
+    private final EntityManager entityManager;
+    private final ItemOccupancyService itemOccupancyService;
+    private final OutboxRelay outboxRelay;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+    private LocalDateTime today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now().atStartOfDay();
+        ownerId = userService.create(UserDto.builder()
+                .name("Owner name")
+                .email("occupancy-owner@email.com")
+                .build()).getId();
+        bookerId = userService.create(UserDto.builder()
+                .name("Booker name")
+                .email("occupancy-booker@email.com")
+                .build()).getId();
+        itemId = itemService.create(ownerId, ItemDto.builder()
+                .name("Item name")
+                .description("Item description")
+                .available(true)
+                .build()).getId();
+        //Дни 2-3 и пересекающееся с ними бронирование на день 3
+        book(today.plusDays(2).plusHours(10), today.plusDays(3).plusHours(2), true);
+        book(today.plusDays(3).plusHours(1), today.plusDays(3).plusHours(20), true);
+        //Ожидающее подтверждения бронирование предмет не занимает
+        book(today.plusDays(5), today.plusDays(6), false);
+        relayAll();
+    }
+
+    @Test
+    void testDailyBitmap() {
+        ItemOccupancyDto occupancy = itemOccupancyService.getOccupancy(itemId, null, null, OccupancyUnit.DAY);
+
+        assertThat(occupancy.getFrom(), equalTo(today));
+        assertThat(occupancy.getTo(), equalTo(today.plusDays(ItemOccupancyService.DEFAULT_SLOTS)));
+        assertThat(occupancy.getSlots(), equalTo(ItemOccupancyService.DEFAULT_SLOTS));
+        assertThat(occupancy.getBitmap().length, equalTo(4));
+        assertThat(occupancy.getBitmap()[0], equalTo((byte) 0b1100));
+        assertThat(occupancy.getBitmap()[1], equalTo((byte) 0));
+    }
+
+    @Test
+    void testHourlyBitmapClipsToWindow() {
+        LocalDateTime from = today.plusDays(3);
+        ItemOccupancyDto occupancy = itemOccupancyService.getOccupancy(itemId, from, from.plusHours(21),
+                OccupancyUnit.HOUR);
+
+        assertThat(occupancy.getSlots(), equalTo(21));
+        //Занятые часы 0-19 третьего дня, последний час свободен
+        assertThat(occupancy.getBitmap()[0], equalTo((byte) 0xFF));
+        assertThat(occupancy.getBitmap()[1], equalTo((byte) 0xFF));
+        assertThat(occupancy.getBitmap()[2], equalTo((byte) 0x0F));
+    }
+
+    @Test
+    void testCachedOccupancyFollowsNewBookings() {
+        LocalDateTime from = today.plusDays(7);
+        assertThat(itemOccupancyService.getOccupancy(itemId, from, null, OccupancyUnit.DAY).getBitmap()[0],
+                equalTo((byte) 0));
+
+        book(today.plusDays(8), today.plusDays(9).minusHours(1), true);
+        entityManager.flush();
+        //Пока событие не доставлено, занятость читается из таблицы
+        assertThat(itemOccupancyService.getOccupancy(itemId, from, null, OccupancyUnit.DAY).getBitmap()[0],
+                equalTo((byte) 0b10));
+        relayAll();
+        assertThat(itemOccupancyService.getOccupancy(itemId, from, null, OccupancyUnit.DAY).getBitmap()[0],
+                equalTo((byte) 0b10));
+    }
+
+    @Test
+    void testIncorrectWindow() {
+        assertThrows(IncorrectParameterException.class,
+                () -> itemOccupancyService.getOccupancy(itemId, today, today, OccupancyUnit.DAY));
+        assertThrows(IncorrectParameterException.class,
+                () -> itemOccupancyService.getOccupancy(itemId, today, today.plusYears(2), OccupancyUnit.HOUR));
+        assertThrows(ObjectNotFoundException.class,
+                () -> itemOccupancyService.getOccupancy(-1L, null, null, OccupancyUnit.DAY));
+    }
+
+    private void book(LocalDateTime start, LocalDateTime end, boolean approve) {
+        Long bookingId = bookingService.create(bookerId, BookingDtoInput.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build()).getId();
+        if (approve)
+            bookingService.confirm(bookingId, ownerId, true);
+    }
+
+    private void relayAll() {
+        entityManager.flush();
+        entityManager.clear();
+        while (outboxRelay.relay(100) > 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+}
@@ -6,14 +6,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comments.model.Comment;
+import ru.practicum.shareit.comments.repository.CommentRepository;
+import ru.practicum.shareit.exception.IncorrectParameterException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -21,6 +34,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 public class ItemServiceImplIntegrationTest {
     private final UserService userService;
     private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
     private UserDto userDto1;
     private ItemDto itemDto1;
     private ItemDto itemDto2;
@@ -66,4 +83,80 @@ public class ItemServiceImplIntegrationTest {
         assertThat(actualItems.get(1).getName(), equalTo("Item 2 name"));
         assertThat(actualItems.get(1).getAvailable(), equalTo(false));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testItemsEmbedOnlyLastComments() {
+        Item item = itemRepository.findById(itemDto1.getId()).orElseThrow();
+        User author = userRepository.findById(userDto1.getId()).orElseThrow();
+        LocalDateTime created = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < ItemServiceImpl.LAST_COMMENTS_SIZE + 2; i++) {
+            commentRepository.save(Comment.builder()
+                    .text("Comment " + i)
+                    .item(item)
+                    .authorName(author)
+                    .created(created.plusMinutes(i))
+                    .build());
+        }
+
+        List<ItemDto> actualItems = itemService.getAllUserItems(userDto1.getId());
+        ItemDto actualItem = itemService.get(itemDto1.getId(), userDto1.getId());
+
+        assertThat(actualItems.get(0).getComments().size(), equalTo(ItemServiceImpl.LAST_COMMENTS_SIZE));
+        assertThat(actualItems.get(0).getComments().get(0).getText(),
+                equalTo("Comment " + (ItemServiceImpl.LAST_COMMENTS_SIZE + 1)));
+        assertThat(actualItem.getComments().size(), equalTo(ItemServiceImpl.LAST_COMMENTS_SIZE));
+        assertThat(itemService.getComments(itemDto1.getId(), 10, 10).size(), equalTo(2));
+    }
+
+    @Test
+    void testCreateAllAndUpdateAvailable() {
+        Long userId = userDto1.getId();
+        List<ItemDto> created = itemService.createAll(userId, List.of(
+                ItemDto.builder().name("Item 3 name").description("Item 3 description").available(true).build(),
+                ItemDto.builder().name("Item 4 name").description("Item 4 description").available(true).build()));
+
+        List<ItemDto> updated = itemService.updateAvailable(userId,
+                List.of(created.get(0).getId(), created.get(1).getId(), itemDto1.getId()), false);
+
+        assertThat(updated.size(), equalTo(3));
+        assertThat(itemService.getAllUserItems(userId).stream().noneMatch(ItemDto::getAvailable), equalTo(true));
+    }
+
+    @Test
+    void testSearchAvailableSkipsItemsBookedInPeriod() {
+        Long ownerId = userDto1.getId();
+        List<ItemDto> created = itemService.createAll(ownerId, List.of(
+                ItemDto.builder().name("Drill 1").description("Drill description").available(true).build(),
+                ItemDto.builder().name("Drill 2").description("Drill description").available(true).build(),
+                ItemDto.builder().name("Drill 3").description("Drill description").available(true).build()));
+        User booker = userRepository.findById(userService.create(UserDto.builder()
+                .name("Booker name")
+                .email("booker@email.com")
+                .build()).getId()).orElseThrow();
+        //Без долей секунды: БД хранит время с точностью до микросекунд, и граница периода сместилась бы
+        LocalDateTime start = LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(2);
+        //Подтверждённое бронирование внутри периода, ожидающее и подтверждённое сразу после периода
+        book(created.get(0).getId(), booker, start.plusHours(1), start.plusHours(5), BookingStatus.APPROVED);
+        book(created.get(1).getId(), booker, start, end, BookingStatus.WAITING);
+        book(created.get(2).getId(), booker, end, end.plusDays(1), BookingStatus.APPROVED);
+
+        List<ItemDto> actualItems = itemService.searchAvailable("drill", start, end);
+
+        assertThat(actualItems.size(), equalTo(2));
+        assertThat(actualItems.get(0).getId(), equalTo(created.get(1).getId()));
+        assertThat(actualItems.get(1).getId(), equalTo(created.get(2).getId()));
+        assertThat(itemService.search("drill").size(), equalTo(3));
+        assertThrows(IncorrectParameterException.class, () -> itemService.searchAvailable("drill", end, start));
+    }
+
+    private void book(Long itemId, User booker, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        bookingRepository.save(Booking.builder()
+                .item(itemRepository.findById(itemId).orElseThrow())
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+}
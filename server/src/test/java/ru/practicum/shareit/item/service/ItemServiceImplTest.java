@@ -6,15 +6,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.repository.BookingHistoryRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comments.dto.CommentDto;
+import ru.practicum.shareit.comments.dto.CommentMapper;
 import ru.practicum.shareit.comments.model.Comment;
 import ru.practicum.shareit.comments.repository.CommentRepository;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.view.OwnerItemViewService;
+import ru.practicum.shareit.outbox.OutboxPublisher;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -25,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -44,9 +51,15 @@ public class ItemServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
     @Mock
+    private BookingHistoryRepository bookingHistoryRepository;
+    @Mock
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private OutboxPublisher outboxPublisher;
+    @Mock
+    private OwnerItemViewService ownerItemViewService;
 
     private User user2;
     private ItemRequest itemRequest1;
@@ -56,7 +69,8 @@ public class ItemServiceImplTest {
     @BeforeEach
     void beforeEach() {
         itemService = new ItemServiceImpl(
-                itemRepository, userRepository, commentRepository, bookingRepository, itemRequestRepository);
+                itemRepository, userRepository, commentRepository, bookingRepository, bookingHistoryRepository,
+                itemRequestRepository, outboxPublisher, ownerItemViewService);
         User user1 = User.builder()
                 .id(1L)
                 .name("User1 name")
@@ -145,6 +159,73 @@ public class ItemServiceImplTest {
         Mockito.verifyNoMoreInteractions(userRepository, itemRepository);
     }
 
+    @Test
+    void testAddAllLoadsOwnerAndRequestsOnce() {
+        ItemDto first = ItemMapper.toItemDto(item2);
+        ItemDto second = ItemMapper.toItemDto(item2);
+        ItemDto third = ItemMapper.toItemDto(item1);
+        Long userId = item2.getOwner().getId();
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(item2.getOwner()));
+        when(itemRequestRepository.findAllById(Set.of(itemRequest1.getId())))
+                .thenReturn(List.of(itemRequest1));
+        when(itemRepository.saveAll(Mockito.anyList()))
+                .thenAnswer(invocationOnMock -> {
+                    List<Item> items = invocationOnMock.getArgument(0);
+                    long id = 10L;
+                    for (Item item : items) {
+                        item.setId(id++);
+                    }
+                    return items;
+                });
+
+        List<ItemDto> actualItems = itemService.createAll(userId, List.of(first, second, third));
+
+        assertThat(actualItems.size(), equalTo(3));
+        assertThat(actualItems.get(0).getId(), equalTo(10L));
+        assertThat(actualItems.get(0).getRequestId(), equalTo(itemRequest1.getId()));
+        assertThat(actualItems.get(1).getRequestId(), equalTo(itemRequest1.getId()));
+        assertThat(actualItems.get(2).getRequestId(), equalTo(null));
+        verify(userRepository, times(1))
+                .findById(userId);
+        verify(itemRequestRepository, times(1))
+                .findAllById(Set.of(itemRequest1.getId()));
+        verify(itemRepository, times(1))
+                .saveAll(Mockito.anyList());
+        Mockito.verifyNoMoreInteractions(userRepository, itemRepository, itemRequestRepository);
+    }
+
+    @Test
+    void testAddAllWithUnknownRequest() {
+        ItemDto itemDto = ItemMapper.toItemDto(item2);
+        Long userId = item2.getOwner().getId();
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(item2.getOwner()));
+        when(itemRequestRepository.findAllById(Set.of(itemRequest1.getId())))
+                .thenReturn(Collections.emptyList());
+
+        ObjectNotFoundException e = assertThrows(ObjectNotFoundException.class,
+                () -> itemService.createAll(userId, List.of(itemDto)));
+
+        assertThat(e.getMessage(), equalTo("Запрос с Id = " + itemRequest1.getId() + " не найден"));
+        verify(itemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testUpdateAvailableNotOwnedItem() {
+        Long userId = item1.getOwner().getId();
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(item1.getOwner()));
+        when(itemRepository.updateAvailable(userId, Set.of(item1.getId(), item2.getId()), false))
+                .thenReturn(1);
+
+        ObjectNotFoundException e = assertThrows(ObjectNotFoundException.class,
+                () -> itemService.updateAvailable(userId, List.of(item1.getId(), item2.getId()), false));
+
+        assertThat(e.getMessage(), equalTo("Не все предметы найдены у пользователя с id = " + userId));
+        verify(itemRepository, never()).findAllById(any());
+    }
+
     @Test
     void testPatchUpdate() {
         String newUserName = "New user name";
@@ -218,7 +299,8 @@ public class ItemServiceImplTest {
                 .thenReturn(Optional.of(user2));
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item1));
-        when(commentRepository.findAllByItemId(itemId))
+        when(commentRepository.findAllByItemIdOrderByCreatedDesc(
+                itemId, PageRequest.of(0, ItemServiceImpl.LAST_COMMENTS_SIZE)))
                 .thenReturn(Collections.emptyList());
 
         ItemDto actualItemDto = itemService.get(itemId, userId);
@@ -231,7 +313,7 @@ public class ItemServiceImplTest {
         verify(itemRepository, times(1))
                 .findById(itemId);
         verify(commentRepository, times(1))
-                .findAllByItemId(itemId);
+                .findAllByItemIdOrderByCreatedDesc(itemId, PageRequest.of(0, ItemServiceImpl.LAST_COMMENTS_SIZE));
         Mockito.verifyNoMoreInteractions(itemRepository, commentRepository);
     }
 
@@ -249,7 +331,7 @@ public class ItemServiceImplTest {
                 .authorName(user2)
                 .created(LocalDateTime.now().minusHours(1))
                 .build();
-        when(bookingRepository.existsByItemIdAndBookerIdAndStatusAndEndBefore(
+        when(bookingHistoryRepository.existsByItemIdAndBookerIdAndStatusAndEndBefore(
                         Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
                 .thenReturn(true);
         when(itemRepository.findById(itemId))
@@ -273,6 +355,35 @@ public class ItemServiceImplTest {
         assertThat(actualComment.getText(), equalTo(expectedComment.getText()));
         assertThat(actualComment.getAuthorName(), equalTo(expectedComment.getAuthorName().getName()));
         assertThat(actualComment.getCreated(), equalTo(expectedComment.getCreated()));
+        verify(itemRepository, times(1))
+                .incrementCommentCount(itemId);
+    }
+
+    @Test
+    void testGetCommentsPage() {
+        Long itemId = item1.getId();
+        Comment comment = Comment.builder()
+                .id(1L)
+                .text("text")
+                .item(item1)
+                .authorName(user2)
+                .created(LocalDateTime.now())
+                .build();
+        when(itemRepository.existsById(itemId))
+                .thenReturn(true);
+        when(commentRepository.findAllByItemIdOrderByCreatedDesc(itemId, PageRequest.of(2, 5)))
+                .thenReturn(List.of(CommentMapper.toCommentDto(comment)));
+
+        List<CommentDto> actualComments = itemService.getComments(itemId, 10, 5);
+
+        assertThat(actualComments.size(), equalTo(1));
+        assertThat(actualComments.get(0).getAuthorName(), equalTo(user2.getName()));
+    }
+
+    @Test
+    void testGetCommentsWrongPage() {
+        assertThrows(ValidationException.class, () -> itemService.getComments(item1.getId(), 3, 5));
+        verify(commentRepository, never()).findAllByItemIdOrderByCreatedDesc(any(), any());
     }
 
     @Test
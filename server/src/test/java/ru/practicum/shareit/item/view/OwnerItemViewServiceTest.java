@@ -0,0 +1,162 @@
+package ru.practicum.shareit.item.view;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.comments.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.outbox.OutboxRelay;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class OwnerItemViewServiceTest {
+    private final EntityManager entityManager;
+    private final OwnerItemViewService ownerItemViewService;
+    private final OwnerItemViewRepository ownerItemViewRepository;
+    private final OutboxRelay outboxRelay;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private Long ownerId;
+    private Long bookerId;
+    private ItemDto item1;
+    private ItemDto item2;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        ownerId = userService.create(UserDto.builder()
+                .name("Owner name")
+                .email("view-owner@email.com")
+                .build()).getId();
+        bookerId = userService.create(UserDto.builder()
+                .name("Booker name")
+                .email("view-booker@email.com")
+                .build()).getId();
+        item1 = itemService.create(ownerId, ItemDto.builder()
+                .name("Item 1 name")
+                .description("Item 1 description")
+                .available(true)
+                .build());
+        item2 = itemService.create(ownerId, ItemDto.builder()
+                .name("Item 2 name")
+                .description("Item 2 description")
+                .available(true)
+                .build());
+        //Начавшееся бронирование через сервис не создать, событие по предмету даст следующее подтверждение
+        bookingRepository.save(Booking.builder()
+                .start(now.minusDays(1))
+                .end(now.plusDays(1))
+                .item(itemRepository.findById(item1.getId()).orElseThrow())
+                .booker(userRepository.findById(bookerId).orElseThrow())
+                .status(BookingStatus.APPROVED)
+                .build());
+        approve(bookingService.create(bookerId, BookingDtoInput.builder()
+                .itemId(item1.getId())
+                .start(now.plusDays(2))
+                .end(now.plusDays(3))
+                .build()).getId());
+        //Завершённое бронирование даёт право на комментарий
+        bookingRepository.save(Booking.builder()
+                .start(now.minusDays(5))
+                .end(now.minusDays(4))
+                .item(itemRepository.findById(item2.getId()).orElseThrow())
+                .booker(userRepository.findById(bookerId).orElseThrow())
+                .status(BookingStatus.APPROVED)
+                .build());
+        itemService.createComment(CommentDto.builder().text("Comment text").created(now).build(), bookerId, item2.getId());
+    }
+
+    @Test
+    void testViewMatchesItemsAssembledFromTables() {
+        entityManager.clear();
+        List<ItemDto> expected = itemService.getAllUserItems(ownerId);
+        assertThat(ownerItemViewService.findOwnerItems(ownerId), nullValue());
+
+        relayAll();
+
+        List<ItemDto> actual = ownerItemViewService.findOwnerItems(ownerId);
+        assertThat(actual, equalTo(expected));
+        assertThat(actual.get(0).getLastBooking(), notNullValue());
+        assertThat(actual.get(0).getNextBooking(), notNullValue());
+        assertThat(actual.get(1).getCommentCount(), equalTo(1));
+        assertThat(actual.get(1).getComments().get(0).getAuthorName(), equalTo("Booker name"));
+        assertThat(itemService.getAllUserItems(ownerId), equalTo(expected));
+    }
+
+    @Test
+    void testViewFollowsChanges() {
+        ItemDto item3 = itemService.create(ownerId, ItemDto.builder()
+                .name("Item 3 name")
+                .description("Item 3 description")
+                .available(true)
+                .build());
+        relayAll();
+
+        itemService.update(ownerId, item1.getId(), ItemDto.builder().name("Item 1 new name").build());
+        userService.update(bookerId, UserDto.builder().name("Booker new name").build());
+        itemService.delete(item3.getId());
+        assertThat(ownerItemViewService.findOwnerItems(ownerId), nullValue());
+        relayAll();
+
+        List<ItemDto> actual = ownerItemViewService.findOwnerItems(ownerId);
+        assertThat(actual.size(), equalTo(2));
+        assertThat(actual.get(0).getName(), equalTo("Item 1 new name"));
+        assertThat(actual.get(1).getComments().get(0).getAuthorName(), equalTo("Booker new name"));
+        assertThat(ownerItemViewRepository.existsById(item3.getId()), equalTo(false));
+    }
+
+    @Test
+    void testStaleRowsAreRefreshed() {
+        relayAll();
+        OwnerItemView view = ownerItemViewRepository.findById(item1.getId()).orElseThrow();
+        LocalDateTime nextStart = view.getNextStart();
+        view.setNextStart(LocalDateTime.now().minusMinutes(1));
+        ownerItemViewRepository.flush();
+
+        assertThat(ownerItemViewService.findOwnerItems(ownerId), nullValue());
+        ownerItemViewService.refreshStale();
+
+        assertThat(ownerItemViewService.findOwnerItems(ownerId), notNullValue());
+        assertThat(ownerItemViewRepository.findById(item1.getId()).orElseThrow().getNextStart(), equalTo(nextStart));
+    }
+
+    private void approve(Long bookingId) {
+        bookingService.confirm(bookingId, ownerId, true);
+    }
+
+    private void relayAll() {
+        entityManager.flush();
+        entityManager.clear();
+        while (outboxRelay.relay(100) > 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+}
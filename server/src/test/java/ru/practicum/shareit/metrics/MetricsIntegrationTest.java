@@ -0,0 +1,92 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class MetricsIntegrationTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void serviceMethodsAreTimed() {
+        long before = serviceCount("ItemServiceImpl", "getAllUserItems", "none");
+        UserDto user = userService.create(UserDto.builder()
+                .name("Metrics user")
+                .email("metrics@email.com")
+                .build());
+
+        itemService.getAllUserItems(user.getId());
+
+        assertThat(serviceCount("ItemServiceImpl", "getAllUserItems", "none"), equalTo(before + 1));
+    }
+
+    @Test
+    void serviceExceptionsAreTagged() {
+        long before = serviceCount("ItemServiceImpl", "getAllUserItems", "ObjectNotFoundException");
+
+        assertThrows(ObjectNotFoundException.class, () -> itemService.getAllUserItems(-1L));
+
+        assertThat(serviceCount("ItemServiceImpl", "getAllUserItems", "ObjectNotFoundException"),
+                equalTo(before + 1));
+    }
+
+    @Test
+    void repositoryCallsRecordRowsAndTime() {
+        UserDto user = userService.create(UserDto.builder()
+                .name("Metrics owner")
+                .email("metrics-owner@email.com")
+                .build());
+        itemService.createAll(user.getId(), List.of(
+                ItemDto.builder().name("Item 1").description("Description 1").available(true).build(),
+                ItemDto.builder().name("Item 2").description("Description 2").available(true).build()));
+        DistributionSummary rows = meterRegistry.find(MetricsConfig.REPOSITORY_ROWS)
+                .tag("repository", "ItemRepository")
+                .tag("method", "findAllByOwnerId")
+                .summary();
+        double amountBefore = rows == null ? 0 : rows.totalAmount();
+
+        itemService.getAllUserItems(user.getId());
+
+        rows = meterRegistry.find(MetricsConfig.REPOSITORY_ROWS)
+                .tag("repository", "ItemRepository")
+                .tag("method", "findAllByOwnerId")
+                .summary();
+        assertThat(rows, notNullValue());
+        assertThat(rows.totalAmount() - amountBefore, equalTo(2.0));
+        assertThat(meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "BookingRepository")
+                .tag("method", "getLastBookings")
+                .timer(), notNullValue());
+    }
+
+    private long serviceCount(String className, String method, String exception) {
+        Timer timer = meterRegistry.find(MetricsConfig.SERVICE_TIMER)
+                .tag("class", "ru.practicum.shareit.item.service." + className)
+                .tag("method", method)
+                .tag("exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
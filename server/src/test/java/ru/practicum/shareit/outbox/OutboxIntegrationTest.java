@@ -0,0 +1,106 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class OutboxIntegrationTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<List<OutboxEvent>> batches = new ArrayList<>();
+    private Long ownerId;
+    private Long bookerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.create(UserDto.builder()
+                .name("Owner name")
+                .email("outbox-owner@email.com")
+                .build()).getId();
+        bookerId = userService.create(UserDto.builder()
+                .name("Booker name")
+                .email("outbox-booker@email.com")
+                .build()).getId();
+    }
+
+    @Test
+    void testMutationsAreRelayedInOrderAndInBatches() {
+        ItemDto item = itemService.create(ownerId, ItemDto.builder()
+                .name("Item name")
+                .description("Item description")
+                .available(true)
+                .build());
+        itemService.update(ownerId, item.getId(), ItemDto.builder().available(false).build());
+        itemService.update(ownerId, item.getId(), ItemDto.builder().available(true).build());
+        BookingUserDto booking = bookingService.create(bookerId, BookingDtoInput.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        bookingService.confirm(booking.getId(), ownerId, true);
+        itemService.delete(item.getId());
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(batches::add), new SimpleMeterRegistry());
+
+        int relayed = 0;
+        int batch;
+        while ((batch = relay.relay(4)) > 0) {
+            relayed += batch;
+        }
+
+        List<OutboxEvent> events = batches.stream().flatMap(List::stream).collect(Collectors.toList());
+        assertThat(relayed, equalTo(6));
+        assertThat(batches.size(), equalTo(2));
+        assertThat(events.stream().map(e -> e.getAggregateType() + " " + e.getEventType())
+                .collect(Collectors.toList()), equalTo(List.of(
+                "ITEM CREATED", "ITEM UPDATED", "ITEM UPDATED", "BOOKING CREATED", "BOOKING UPDATED", "ITEM DELETED")));
+        assertThat(events.get(1).getPayload(), containsString("\"available\":false"));
+        assertThat(events.get(4).getPayload(), containsString("\"status\":\"APPROVED\""));
+        assertThat(events.get(4).getPayload(), containsString("\"ownerId\":" + ownerId));
+        assertThat(outboxEventRepository.count(), equalTo(0L));
+    }
+
+    @Test
+    void testFailedSubscriberKeepsEventsForRedelivery() {
+        itemService.create(ownerId, ItemDto.builder()
+                .name("Item name")
+                .description("Item description")
+                .available(true)
+                .build());
+        OutboxRelay failing = new OutboxRelay(outboxEventRepository, List.of(events -> {
+            throw new IllegalStateException("Подписчик недоступен");
+        }), new SimpleMeterRegistry());
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(batches::add), new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class, () -> failing.relay(10));
+
+        assertThat(outboxEventRepository.count(), equalTo(1L));
+        assertThat(relay.relay(10), equalTo(1));
+        assertThat(batches.get(0).get(0).getAggregateType(), equalTo(AggregateType.ITEM));
+    }
+}
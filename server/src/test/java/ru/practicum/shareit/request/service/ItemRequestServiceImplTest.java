@@ -10,6 +10,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
@@ -137,8 +138,8 @@ public class ItemRequestServiceImplTest {
                 .when(userRepository.findById(requesterId))
                 .thenReturn(Optional.of(user1));
         Mockito
-                .when((itemRepository.findAllByRequestId(user1.getId())))
-                .thenReturn(List.of(item1, item2));
+                .when((itemRepository.findAllByRequestIdIn(List.of(itemRequest1.getId(), itemRequest2.getId()))))
+                .thenReturn(List.of(ItemMapper.toItemDto(item1), ItemMapper.toItemDto(item2)));
         Mockito
                 .when(itemRequestRepository.findAllByRequestor_Id(requesterId))
                 .thenReturn(List.of(itemRequest1, itemRequest2));
@@ -193,7 +194,8 @@ public class ItemRequestServiceImplTest {
     void getRequestById() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.of(itemRequest1));
-        when(itemRepository.findAllByRequestId(anyLong())).thenReturn(Arrays.asList(item1, item2));
+        when(itemRepository.findAllByRequestIdIn(List.of(itemRequest1.getId())))
+                .thenReturn(Arrays.asList(ItemMapper.toItemDto(item1), ItemMapper.toItemDto(item2)));
 
         ItemRequestFullDto response = itemRequestService.getById(user1.getId(), itemRequest1.getId());
 
@@ -201,7 +203,7 @@ public class ItemRequestServiceImplTest {
         assertEquals(2, response.getItems().size());
         verify(userRepository, times(1)).findById(anyLong());
         verify(itemRequestRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findAllByRequestId(anyLong());
+        verify(itemRepository, times(1)).findAllByRequestIdIn(List.of(itemRequest1.getId()));
     }
 
     @Test
@@ -220,7 +222,7 @@ public class ItemRequestServiceImplTest {
         assertTrue(actualMessage.contains(expectedMessage));
         verify(userRepository, times(1)).findById(anyLong());
         verify(itemRequestRepository, never()).findById(anyLong());
-        verify(itemRepository, never()).findAllByRequestId(anyLong());
+        verify(itemRepository, never()).findAllByRequestIdIn(any());
     }
 
     @Test
@@ -240,6 +242,6 @@ public class ItemRequestServiceImplTest {
         assertTrue(actualMessage.contains(expectedMessage));
         verify(userRepository, times(1)).findById(anyLong());
         verify(itemRequestRepository, times(1)).findById(anyLong());
-        verify(itemRepository, never()).findAllByRequestId(anyLong());
+        verify(itemRepository, never()).findAllByRequestIdIn(any());
     }
 }
\ No newline at end of file
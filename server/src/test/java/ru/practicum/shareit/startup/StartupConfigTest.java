@@ -0,0 +1,35 @@
+package ru.practicum.shareit.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import ru.practicum.shareit.booking.archive.BookingArchiveScheduler;
+import ru.practicum.shareit.item.view.OwnerItemViewService;
+import ru.practicum.shareit.outbox.OutboxRelayScheduler;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class StartupConfigTest {
+    private final LazyInitializationExcludeFilter filter = StartupConfig.eagerBeans();
+
+    @Test
+    void testScheduledAndEntityManagerFactoryBeansAreEager() {
+        assertThat(isEager(OutboxRelayScheduler.class), equalTo(true));
+        assertThat(isEager(BookingArchiveScheduler.class), equalTo(true));
+        assertThat(isEager(OwnerItemViewService.class), equalTo(true));
+        assertThat(isEager(EntityManagerFactory.class), equalTo(true));
+    }
+
+    @Test
+    void testOtherBeansAreLazy() {
+        assertThat(isEager(UserServiceImpl.class), equalTo(false));
+    }
+
+    private boolean isEager(Class<?> beanType) {
+        return filter.isExcluded("bean", new RootBeanDefinition(beanType), beanType);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:tracing")
+@AutoConfigureMockMvc
+public class TracingIntegrationTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    @Test
+    void testRequestContinuesIncomingTraceWithRepositorySpans() throws Exception {
+        UserDto user = userService.create(UserDto.builder()
+                .name("Tracing user")
+                .email("tracing@email.com")
+                .build());
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", user.getId())
+                        .header(Tracer.TRACEPARENT, "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Tracer.TRACEPARENT, startsWith("00-" + TRACE_ID + "-")));
+
+        TraceRecord trace = exporter.getSlowest(Integer.MAX_VALUE).stream()
+                .filter(record -> record.getTraceId().equals(TRACE_ID))
+                .findFirst()
+                .orElseThrow();
+        Span root = trace.getSpans().get(0);
+        Map<String, Span> spans = trace.getSpans().stream()
+                .collect(Collectors.toMap(Span::getName, Function.identity(), (first, second) -> first));
+        assertThat(trace.getName(), equalTo("GET /items"));
+        assertThat(root.getParentId(), equalTo(PARENT_SPAN_ID));
+        assertThat(root.getTags().get("http.status"), equalTo("200"));
+        assertThat(spans, hasKey("UserRepository.findById"));
+        assertThat(spans, hasKey("OwnerItemViewRepository.findAllByOwnerIdOrderByItemId"));
+        assertThat(spans.get("OwnerItemViewRepository.findAllByOwnerIdOrderByItemId").getParentId(), equalTo(root.getSpanId()));
+    }
+
+    @Test
+    void testRequestWithoutHeaderStartsNewTrace() throws Exception {
+        String traceparent = mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(Tracer.TRACEPARENT);
+        String traceId = traceparent.split("-")[1];
+
+        List<TraceRecord> traces = exporter.getSlowest(Integer.MAX_VALUE);
+        TraceRecord trace = traces.stream()
+                .filter(record -> record.getTraceId().equals(traceId))
+                .findFirst()
+                .orElseThrow();
+        assertThat(trace.getSpans().get(0).getParentId(), nullValue());
+    }
+
+    @Test
+    void testRepositoryCallOutsideRequestIsNotTraced() {
+        int tracesBefore = exporter.getSlowest(Integer.MAX_VALUE).size();
+
+        userService.create(UserDto.builder()
+                .name("Background user")
+                .email("background@email.com")
+                .build());
+        userService.getAll();
+
+        assertThat(exporter.getSlowest(Integer.MAX_VALUE).size(), equalTo(tracesBefore));
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.outbox.OutboxPublisher;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -34,10 +35,12 @@ class UserServiceImplTest {
     private UserService userService;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private OutboxPublisher outboxPublisher;
 
     @BeforeEach
     public void setUp() {
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository, outboxPublisher);
     }
 
     @Test
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ConcurrencyLimitFilterTest {
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10), "/actuator");
+
+    @Test
+    void testRequestOverLimitIsRejected() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //Вложенный запрос выполняется, пока первый держит единственное разрешение
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), response, (request, servletResponse) -> {
+            MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/items"), nestedResponse, (r, s) -> {
+            });
+            nested.set(nestedResponse);
+        });
+
+        assertThat(response.getStatus(), equalTo(200));
+        assertThat(nested.get().getStatus(), equalTo(503));
+        assertThat(nested.get().getHeader("Retry-After"), equalTo("1"));
+        assertThat(nested.get().getContentAsString(), containsString("\"error\""));
+    }
+
+    @Test
+    void testActuatorRequestsAreNotLimited() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                (request, servletResponse) -> {
+                    MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+                    filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), nestedResponse, (r, s) -> {
+                    });
+                    nested.set(nestedResponse);
+                });
+
+        assertThat(nested.get().getStatus(), equalTo(200));
+    }
+
+    @Test
+    void testPermitIsReleasedAfterFailedRequest() throws Exception {
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                    (request, response) -> {
+                        throw new IllegalStateException();
+                    });
+        } catch (IllegalStateException ignored) {
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), response, (request, servletResponse) -> {
+        });
+
+        assertThat(response.getStatus(), equalTo(200));
+    }
+}
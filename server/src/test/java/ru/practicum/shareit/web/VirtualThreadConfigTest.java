@@ -0,0 +1,21 @@
+package ru.practicum.shareit.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class VirtualThreadConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfig.class)
+            .withPropertyValues("shareit.web.virtual-threads.enabled=true");
+
+    //На JVM без виртуальных потоков ограничение не регистрируется и не урезает пул Tomcat
+    @Test
+    void testLimitFilterIsRegisteredOnlyWithVirtualThreads() {
+        contextRunner.run(context -> assertThat(context.getBeansOfType(FilterRegistrationBean.class).isEmpty(),
+                equalTo(!VirtualThreads.isAvailable())));
+    }
+}